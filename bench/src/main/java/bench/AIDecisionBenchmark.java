@@ -0,0 +1,63 @@
+package bench;
+
+import ai.AIStrategy;
+import core.Board;
+import core.Food;
+import core.GameRandom;
+import core.PathFinder;
+import core.Snake;
+import enums.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The decision an AIPlayer.move makes every tick, per strategy, on a fixed position:
+ * the snake and food stay put, so every invocation answers the same question.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIDecisionBenchmark {
+    @Param({"greedy", "bfs", "lookahead", "hamiltonian"})
+    public String strategy;
+
+    @Param({"32", "128"})
+    public int boardSize;
+
+    @Param({"4", "256"})
+    public int snakeLength;
+
+    @Param({"10"})
+    public int difficulty;
+
+    private AIStrategy ai;
+    private Snake snake;
+    private Food food;
+
+    @Setup
+    public void setUp() {
+        Board board = new Board(boardSize, boardSize, 30);
+        Direction[] cycle = Boards.cycle(boardSize, boardSize);
+        snake = Boards.grownSnake(board, cycle, Math.min(snakeLength, boardSize * boardSize / 2));
+        food = new Food(board, new GameRandom(7));
+        ai = AIStrategy.of(strategy);
+    }
+
+    @Benchmark
+    public Direction decide() {
+        return ai.decide(snake, food, difficulty, PathFinder.NO_DEADLINE);
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import ai.PathFindingStrategy;
+import core.ArenaGameMode;
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.AIPlayer;
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One GameState.step of an ArenaGameMode free-for-all with CPU players spawned through
+ * ArenaGameMode.spawnPoint. The mode's own share of a tick (food index, head stamps,
+ * eliminations) is small next to the AI decisions, so the cost per living snake should
+ * stay flat as playerCount grows. A finished game is replaced by a new one with the next seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaTickBenchmark {
+    @Param({"16", "64"})
+    public int playerCount;
+
+    @Param({"128", "512"})
+    public int boardSize;
+
+    private GameState state;
+    private long seed = 1;
+
+    @Setup
+    public void setUp() {
+        newGame();
+    }
+
+    private void newGame() {
+        Board board = new Board(boardSize, boardSize, 30);
+        ArenaGameMode mode = new ArenaGameMode(board);
+        state = new GameState(board, mode, new GameRandom(seed++));
+        for (int i = 0; i < playerCount; i++) {
+            Point at = ArenaGameMode.spawnPoint(board, state.getRandom());
+            AIPlayer ai = new AIPlayer("AI " + i, at.x, at.y, state.getFood());
+            ai.setStrategy(new PathFindingStrategy());
+            state.addPlayer(ai);
+        }
+        mode.initialize(state);
+    }
+
+    @Benchmark
+    public long tick() {
+        if (!state.isRunning()) newGame();
+        state.step();
+        return state.getTick();
+    }
+}
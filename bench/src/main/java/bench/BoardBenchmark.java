@@ -0,0 +1,71 @@
+package bench;
+
+import core.Board;
+import core.Food;
+import core.GameRandom;
+import core.Snake;
+import enums.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board.checkCollision and Board.checkFood against a grown snake, plus one full
+ * move-collide-eat step as the game mode does it for a player.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"4", "64", "1024"})
+    public int snakeLength;
+
+    @Param({"64", "256"})
+    public int boardSize;
+
+    private Board board;
+    private Snake snake;
+    private Food food;
+    private Direction[] cycle;
+
+    @Setup
+    public void setUp() {
+        board = new Board(boardSize, boardSize, 30);
+        cycle = Boards.cycle(boardSize, boardSize);
+        snake = Boards.grownSnake(board, cycle, snakeLength);
+        food = new Food(board, new GameRandom(42));
+    }
+
+    @Benchmark
+    public boolean checkCollision() {
+        return board.checkCollision(snake);
+    }
+
+    @Benchmark
+    public boolean checkFood() {
+        return board.checkFood(snake, food);
+    }
+
+    // Eating grows the snake, so the food is respawned without letting the snake keep the growth
+    @Benchmark
+    public boolean moveCollideEat() {
+        Boards.follow(snake, cycle, boardSize);
+        boolean crashed = board.checkCollision(snake);
+        if (snake.headX() == food.getLocation().x && snake.headY() == food.getLocation().y) {
+            food.respawn();
+        }
+        return crashed;
+    }
+}
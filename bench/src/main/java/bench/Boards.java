@@ -0,0 +1,55 @@
+package bench;
+
+import core.Board;
+import core.Snake;
+import enums.Direction;
+import java.awt.Color;
+
+/**
+ * Fixtures shared by the benchmarks: a Hamiltonian cycle over an even-sized board, so a
+ * snake that follows it can move forever without crashing, and snakes grown along it.
+ */
+final class Boards {
+    private Boards() {}
+
+    // Direction to take from every cell (y * cols + x) to stay on the cycle; rows must be even
+    static Direction[] cycle(int cols, int rows) {
+        Direction[] next = new Direction[cols * rows];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                Direction d;
+                if (x == 0) {
+                    d = y == 0 ? Direction.RIGHT : Direction.UP;
+                } else if (y % 2 == 0) {
+                    d = x < cols - 1 ? Direction.RIGHT : Direction.DOWN;
+                } else if (x > 1) {
+                    d = Direction.LEFT;
+                } else {
+                    d = y == rows - 1 ? Direction.LEFT : Direction.DOWN;
+                }
+                next[y * cols + x] = d;
+            }
+        }
+        return next;
+    }
+
+    // A snake of the given length on the board, laid along the cycle from (0, 0)
+    static Snake grownSnake(Board board, Direction[] cycle, int length) {
+        if (length > board.getCols() * board.getRows()) {
+            throw new IllegalArgumentException("Snake longer than the board");
+        }
+        Snake snake = new Snake(0, 0, Color.GREEN);
+        board.attach(snake);
+        for (int i = 1; i < length; i++) {
+            snake.grow();
+            follow(snake, cycle, board.getCols());
+        }
+        return snake;
+    }
+
+    // One step along the cycle
+    static void follow(Snake snake, Direction[] cycle, int cols) {
+        snake.setDirection(cycle[snake.headY() * cols + snake.headX()]);
+        snake.move();
+    }
+}
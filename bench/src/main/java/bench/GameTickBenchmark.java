@@ -0,0 +1,72 @@
+package bench;
+
+import ai.PathFindingStrategy;
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import core.StandardGameMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.AIPlayer;
+import util.Metrics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full GameState.step with AI players: every AIPlayer.move, food checks, collisions
+ * and respawns. A finished game is replaced by a new one with the next seed; that setup
+ * cost is included, but it is paid once per several hundred ticks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTickBenchmark {
+    @Param({"1", "2", "4", "8"})
+    public int playerCount;
+
+    @Param({"32", "128"})
+    public int boardSize;
+
+    // -p metrics=false,true measures what the Metrics probes cost
+    @Param({"false"})
+    public boolean metrics;
+
+    private GameState state;
+    private long seed = 1;
+
+    @Setup
+    public void setUp() {
+        Metrics.setEnabled(metrics);
+        newGame();
+    }
+
+    private void newGame() {
+        StandardGameMode mode = new StandardGameMode();
+        state = new GameState(new Board(boardSize, boardSize, 30), mode, new GameRandom(seed++));
+        for (int i = 0; i < playerCount; i++) {
+            int y = 1 + i * (boardSize - 2) / playerCount;
+            AIPlayer ai = new AIPlayer("AI " + i, 1, y, state.getFood());
+            ai.setStrategy(new PathFindingStrategy());
+            state.addPlayer(ai);
+        }
+        mode.initialize(state);
+    }
+
+    @Benchmark
+    public long tick() {
+        if (!state.isRunning()) newGame();
+        state.step();
+        return state.getTick();
+    }
+}
@@ -0,0 +1,86 @@
+package bench;
+
+import ai.MctsStrategy;
+import core.Board;
+import core.Food;
+import core.GameRandom;
+import core.PathFinder;
+import core.Snake;
+import enums.Direction;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MctsStrategy decisions on a fixed position with opponents around the snake. Each
+ * decision runs for the same wall-clock budget, so decisions per second only show the
+ * budget; the playouts counter is the number to read: playouts per second, for sizing
+ * how many cores an MCTS player needs. With threads above the core count it stays flat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsBenchmark {
+    @Param({"1", "4"})
+    public int threads;
+
+    @Param({"40", "160"})
+    public int boardSize;
+
+    @Param({"10"})
+    public int difficulty;
+
+    // Reported by JMH as playouts per second next to the decision rate
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long playouts;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            playouts = 0;
+        }
+    }
+
+    private MctsStrategy ai;
+    private Snake snake;
+    private Food food;
+
+    @Setup
+    public void setUp() {
+        Board board = new Board(boardSize, boardSize, 30);
+        Direction[] cycle = Boards.cycle(boardSize, boardSize);
+        snake = Boards.grownSnake(board, cycle, 16);
+        // Three opponents a few cells away, heading at the snake
+        for (int i = 1; i <= 3; i++) {
+            Snake other = new Snake(snake.headX() + 2 * i, snake.headY() + 3 + i, Color.BLUE);
+            other.setDirection(Direction.UP);
+            board.attach(other);
+        }
+        food = new Food(board, new GameRandom(7));
+        ai = new MctsStrategy(threads, 1_000_000L);
+    }
+
+    @Benchmark
+    public Direction decide(Counters counters) {
+        long before = ai.getPlayouts();
+        Direction d = ai.decide(snake, food, difficulty, PathFinder.NO_DEADLINE);
+        counters.playouts += ai.getPlayouts() - before;
+        return d;
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.Leaderboard;
+import util.ScoreManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost a game-over pays on the calling thread for ScoreManager.updateScore, and the
+ * Leaderboard update underneath it. ScoreManager writes resources/player_scores.* in the
+ * working directory, so run the suite from a scratch directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBenchmark {
+    @Param({"1000", "100000"})
+    public int players;
+
+    private String[] names;
+    private Leaderboard leaderboard;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        names = new String[players];
+        leaderboard = new Leaderboard();
+        for (int i = 0; i < players; i++) {
+            names[i] = "player" + i;
+            leaderboard.put(names[i], i % 5000);
+        }
+    }
+
+    private String nextName() {
+        String name = names[next];
+        next = next + 1 == names.length ? 0 : next + 1;
+        return name;
+    }
+
+    @Benchmark
+    public int leaderboardAdd() {
+        return leaderboard.add(nextName(), 15);
+    }
+
+    @Benchmark
+    public void updateScore() {
+        ScoreManager.updateScore(nextName(), 15);
+    }
+
+    @Benchmark
+    public void updateScoreInMemory() {
+        ScoreManager.updateScore(nextName(), 15, false);
+    }
+}
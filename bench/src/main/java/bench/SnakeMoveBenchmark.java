@@ -0,0 +1,51 @@
+package bench;
+
+import core.Board;
+import core.Snake;
+import enums.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snake.move on a board: ring-buffer update plus occupancy-grid bookkeeping. The snake
+ * follows a Hamiltonian cycle, so it never crashes and its length stays constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeMoveBenchmark {
+    @Param({"4", "64", "1024"})
+    public int snakeLength;
+
+    @Param({"64", "256"})
+    public int boardSize;
+
+    private Snake snake;
+    private Direction[] cycle;
+
+    @Setup
+    public void setUp() {
+        Board board = new Board(boardSize, boardSize, 30);
+        cycle = Boards.cycle(boardSize, boardSize);
+        snake = Boards.grownSnake(board, cycle, snakeLength);
+    }
+
+    @Benchmark
+    public int move() {
+        Boards.follow(snake, cycle, boardSize);
+        return snake.headX();
+    }
+}
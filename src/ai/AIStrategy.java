@@ -0,0 +1,37 @@
+package ai;
+
+import core.Food;
+import core.Snake;
+import enums.Direction;
+
+/**
+ * AIStrategy is the contract for CPU decision policies, demonstrating abstraction and
+ * polymorphism (inclusion): an AIPlayer delegates each move to whichever strategy it holds.
+ * Strategies read the board through the snake's occupancy grid and must not move the snake.
+ */
+public interface AIStrategy {
+    // Abstraction: Short, stable name used for profiling and configuration
+    String getName();
+
+    /**
+     * Chooses the next heading for the snake.
+     *
+     * @param deadline System.nanoTime() value after which the strategy should give up,
+     *                 or core.PathFinder.NO_DEADLINE for no limit
+     * @return the chosen direction, or null if no decision could be made in time
+     */
+    Direction decide(Snake snake, Food food, int difficulty, long deadline);
+
+    // Extensibility: Creates a strategy from its name, e.g. from a command line or config
+    static AIStrategy of(String name) {
+        return switch (name) {
+            case GreedyStrategy.NAME      -> new GreedyStrategy();
+            case PathFindingStrategy.NAME -> new PathFindingStrategy();
+            case HamiltonianStrategy.NAME -> new HamiltonianStrategy();
+            case LookaheadStrategy.NAME   -> new LookaheadStrategy();
+            case MctsStrategy.NAME        -> new MctsStrategy();
+            case WeightedStrategy.NAME    -> new WeightedStrategy(DifficultyTable.forLevel(DifficultyTable.LEVELS));
+            default -> throw new IllegalArgumentException("Unknown AI strategy: " + name);
+        };
+    }
+}
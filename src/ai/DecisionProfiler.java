@@ -0,0 +1,75 @@
+package ai;
+
+import util.LatencyHistogram;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DecisionProfiler keeps one latency histogram per strategy name, shared by every AIPlayer
+ * in the process, so we can tell which strategy would blow the frame budget when many CPU
+ * players share a board. Demonstrates encapsulation of a process-wide registry and
+ * thread safety: histograms are recorded concurrently from many game threads.
+ * Search strategies also report their simulated games (playouts) and the CPU time spent
+ * on them, to size how many cores each such AI needs.
+ */
+public final class DecisionProfiler {
+    private static final Map<String, LatencyHistogram> LATENCIES = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> OVERRUNS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> PLAYOUTS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> PLAYOUT_NANOS = new ConcurrentHashMap<>();
+
+    private DecisionProfiler() {}
+
+    // Abstraction: Records one decision and whether it overran its budget
+    public static void record(String strategy, long nanos, boolean overBudget) {
+        histogram(strategy).record(nanos);
+        if (overBudget) OVERRUNS.computeIfAbsent(strategy, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    // Records playouts run for one decision and the worker time they took, over all threads
+    public static void recordPlayouts(String strategy, long playouts, long busyNanos) {
+        PLAYOUTS.computeIfAbsent(strategy, k -> new AtomicLong()).addAndGet(playouts);
+        PLAYOUT_NANOS.computeIfAbsent(strategy, k -> new AtomicLong()).addAndGet(busyNanos);
+    }
+
+    // Playouts per second of one core's time, or 0 if the strategy reported none
+    public static double playoutsPerCoreSecond(String strategy) {
+        AtomicLong n = PLAYOUTS.get(strategy), nanos = PLAYOUT_NANOS.get(strategy);
+        return n == null || nanos.get() == 0 ? 0 : n.get() * 1e9 / nanos.get();
+    }
+
+    public static LatencyHistogram histogram(String strategy) {
+        return LATENCIES.computeIfAbsent(strategy, k -> new LatencyHistogram());
+    }
+
+    public static long overruns(String strategy) {
+        AtomicLong n = OVERRUNS.get(strategy);
+        return n == null ? 0 : n.get();
+    }
+
+    // Read-only view of all histograms, sorted by strategy name
+    public static Map<String, LatencyHistogram> snapshot() {
+        return new TreeMap<>(LATENCIES);
+    }
+
+    public static void reset() {
+        LATENCIES.clear();
+        OVERRUNS.clear();
+        PLAYOUTS.clear();
+        PLAYOUT_NANOS.clear();
+    }
+
+    // One line per strategy: sample count, mean, p50, p99, max, budget overruns and playout rate
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> e : snapshot().entrySet()) {
+            sb.append(String.format("%-12s %s overruns=%d", e.getKey(), e.getValue(), overruns(e.getKey())));
+            double rate = playoutsPerCoreSecond(e.getKey());
+            if (rate > 0) sb.append(String.format(" playouts/core-s=%.0f", rate));
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DifficultyTable maps difficulty levels 1..LEVELS onto WeightedStrategy weights, from
+ * weakest to strongest. WeightTuner writes the table to FILE, one level per line as
+ * "level food space tail opponent", '#' starting a comment; the game reads that file
+ * once, and falls back to the built-in table (from an earlier tuning run) if it is
+ * missing or broken. Levels above LEVELS are MctsStrategy's (see AIPlayer).
+ * Demonstrates encapsulation and exception handling.
+ */
+public final class DifficultyTable {
+    public static final int LEVELS = 8;
+    public static final Path FILE = Paths.get("resources/ai_difficulty.txt");
+
+    // WeightTuner 20 24 40 42 on one core; fitness against the BFS AI from 0.39 to 0.78 (0.5 is even)
+    private static final WeightedStrategy.Weights[] BUILT_IN = {
+        new WeightedStrategy.Weights(-1.7479, -0.9358, 1.0448, -1.6321),
+        new WeightedStrategy.Weights(-0.9634, 1.8592, 0.4380, -1.8204),
+        new WeightedStrategy.Weights(0.9503, 1.3328, 1.1780, -0.8260),
+        new WeightedStrategy.Weights(1.5979, 1.5509, 0.0423, -0.5176),
+        new WeightedStrategy.Weights(1.6330, 1.3814, -0.3203, 0.2376),
+        new WeightedStrategy.Weights(2.0000, 0.0441, 1.3367, 0.1741),
+        new WeightedStrategy.Weights(1.9721, 0.6864, -0.1108, -0.2739),
+        new WeightedStrategy.Weights(1.6393, 0.3087, 1.1357, -0.0268),
+    };
+
+    private static volatile WeightedStrategy.Weights[] table;
+
+    private DifficultyTable() {}
+
+    // Weights for a level, clamped to 1..LEVELS
+    public static WeightedStrategy.Weights forLevel(int level) {
+        WeightedStrategy.Weights[] t = table;
+        if (t == null) table = t = loadOrBuiltIn();
+        return t[Math.max(1, Math.min(LEVELS, level)) - 1];
+    }
+
+    // Exception Handling: A missing file is normal; a broken one is reported and ignored
+    private static WeightedStrategy.Weights[] loadOrBuiltIn() {
+        try {
+            return load(FILE);
+        } catch (NoSuchFileException e) {
+            return BUILT_IN;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring " + FILE + ": " + e.getMessage());
+            return BUILT_IN;
+        }
+    }
+
+    // Reads a table written by write(); every level must be present exactly once
+    public static WeightedStrategy.Weights[] load(Path file) throws IOException {
+        WeightedStrategy.Weights[] t = new WeightedStrategy.Weights[LEVELS];
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int hash = line.indexOf('#');
+            String s = (hash < 0 ? line : line.substring(0, hash)).strip();
+            if (s.isEmpty()) continue;
+            String[] f = s.split("\\s+");
+            if (f.length != 1 + WeightedStrategy.Weights.SIZE) throw new IllegalArgumentException("Bad line: " + line);
+            int level = Integer.parseInt(f[0]);
+            if (level < 1 || level > LEVELS || t[level - 1] != null) {
+                throw new IllegalArgumentException("Bad or repeated level: " + line);
+            }
+            double[] w = new double[WeightedStrategy.Weights.SIZE];
+            for (int i = 0; i < w.length; i++) w[i] = Double.parseDouble(f[i + 1]);
+            t[level - 1] = WeightedStrategy.Weights.of(w);
+        }
+        for (int i = 0; i < LEVELS; i++) {
+            if (t[i] == null) throw new IllegalArgumentException("Level " + (i + 1) + " missing");
+        }
+        return t;
+    }
+
+    // Writes levels 1..LEVELS, each with an optional comment (e.g. its measured fitness)
+    public static void write(Path file, WeightedStrategy.Weights[] levels, String[] comments) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# level food space tail opponent, written by app.WeightTuner");
+        for (int i = 0; i < levels.length; i++) {
+            WeightedStrategy.Weights w = levels[i];
+            lines.add(String.format(Locale.ROOT, "%d %.4f %.4f %.4f %.4f%s", i + 1, w.food(), w.space(), w.tail(),
+                                    w.opponent(), comments == null ? "" : "  # " + comments[i]));
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
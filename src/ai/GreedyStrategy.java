@@ -0,0 +1,59 @@
+package ai;
+
+import core.Food;
+import core.Snake;
+import enums.Direction;
+
+/**
+ * GreedyStrategy is the original one-step heuristic: head along the larger axis distance
+ * to the food and take the first candidate that does not collide. It is the cheapest
+ * strategy and never gives up, so AIPlayer uses it as the fallback.
+ */
+public class GreedyStrategy implements AIStrategy {
+    public static final String NAME = "greedy";
+
+    @Override
+    public String getName() { return NAME; }
+
+    // Polymorphism (Inclusion): Greedy decision, ignores difficulty and deadline
+    @Override
+    public Direction decide(Snake snake, Food food, int difficulty, long deadline) {
+        Direction current = snake.getDirection();
+        int dx = food.getLocation().x - snake.headX();
+        int dy = food.getLocation().y - snake.headY();
+        Direction primary, secondary;
+        if (Math.abs(dx) > Math.abs(dy)) {
+            primary = dx < 0 ? Direction.LEFT : Direction.RIGHT;
+            secondary = dy < 0 ? Direction.UP : Direction.DOWN;
+        } else {
+            primary = dy < 0 ? Direction.UP : Direction.DOWN;
+            secondary = dx < 0 ? Direction.LEFT : Direction.RIGHT;
+        }
+        return chooseSafeDirection(snake, current, primary, secondary);
+    }
+
+    // Abstraction: Hides direction selection logic
+    private Direction chooseSafeDirection(Snake snake, Direction current,
+                                         Direction d1, Direction d2) {
+        Direction[] candidates = {
+            d1, d2, current,
+            (d1 == Direction.LEFT || d1 == Direction.RIGHT)
+                ? (dyPreferred(current) ? Direction.UP : Direction.DOWN)
+                : (dxPreferred(current) ? Direction.LEFT : Direction.RIGHT)
+        };
+        for (Direction d : candidates) {
+            if (d != current.opposite() && !Moves.wouldCollide(snake, d)) {
+                return d;
+            }
+        }
+        return current;
+    }
+
+    private boolean dxPreferred(Direction dir) {
+        return dir == Direction.LEFT || dir == Direction.RIGHT;
+    }
+
+    private boolean dyPreferred(Direction dir) {
+        return dir == Direction.UP || dir == Direction.DOWN;
+    }
+}
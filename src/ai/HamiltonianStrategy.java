@@ -0,0 +1,111 @@
+package ai;
+
+import core.Board;
+import core.Food;
+import core.Snake;
+import enums.Direction;
+
+/**
+ * HamiltonianStrategy follows a fixed cycle that visits every cell exactly once, which a
+ * lone snake can follow forever without crashing. Higher difficulties take shortcuts
+ * toward the food while the snake is short, as long as the shortcut stays strictly
+ * ahead of the tail on the cycle. Needs an even number of rows or columns; on odd-by-odd
+ * boards, or when another snake blocks the cycle, it returns null and lets the fallback move.
+ */
+public class HamiltonianStrategy implements AIStrategy {
+    public static final String NAME = "hamiltonian";
+    // Cells kept between a shortcut and the tail, so that growing after a meal stays safe
+    private static final int SHORTCUT_MARGIN = 4;
+
+    // Encapsulation: Cycle cached for the board dimensions it was built for
+    private int cols = -1, rows = -1;
+    private int[] order;     // order[cell] = position of the cell on the cycle
+    private int[] cycle;     // cycle[position] = cell at that position
+
+    @Override
+    public String getName() { return NAME; }
+
+    @Override
+    public Direction decide(Snake snake, Food food, int difficulty, long deadline) {
+        Board board = snake.getBoard();
+        if (board == null || !buildCycle(board.getCols(), board.getRows())) return null;
+        int n = cycle.length;
+        int hx = snake.headX(), hy = snake.headY();
+        if (!board.inBounds(hx, hy)) return null;
+        int head = hy * cols + hx;
+        int tail = snake.yAt(snake.length() - 1) * cols + snake.xAt(snake.length() - 1);
+        int toTail = distance(head, tail, n);
+        // With no food on the board there is nothing to shortcut toward
+        int toFood = board.inBounds(food.getLocation().x, food.getLocation().y)
+            ? distance(head, food.getLocation().y * cols + food.getLocation().x, n)
+            : 0;
+
+        // Shortcuts only while the snake is short enough for them to be safe
+        Direction best = null;
+        int bestDist = 0;
+        if (difficulty > 1 && snake.length() < n / 2) {
+            for (Direction d : Direction.values()) {
+                if (!Moves.isSafe(snake, d)) continue;
+                int cell = Moves.nextY(hy, d) * cols + Moves.nextX(hx, d);
+                int dist = distance(head, cell, n);
+                boolean aheadOfTail = snake.length() < 2 || dist < toTail - SHORTCUT_MARGIN;
+                if (aheadOfTail && dist <= toFood && dist > bestDist) {
+                    best = d;
+                    bestDist = dist;
+                }
+            }
+        }
+        if (best != null) return best;
+
+        int next = cycle[(order[head] + 1) % n];
+        Direction d = Moves.directionTo(hx, hy, next % cols, next / cols);
+        return d != null && Moves.isSafe(snake, d) ? d : null;
+    }
+
+    // Steps from a to b going forward along the cycle
+    private int distance(int a, int b, int n) {
+        return Math.floorMod(order[b] - order[a], n);
+    }
+
+    /**
+     * Builds the cycle for a cols x rows board: the whole first row, then serpentine through
+     * the remaining rows from column 1 onward, then back up column 0. Transposed when only
+     * the column count is even.
+     */
+    private boolean buildCycle(int c, int r) {
+        if (c == cols && r == rows) return order != null;
+        cols = c;
+        rows = r;
+        order = null;
+        cycle = null;
+        if (c < 2 || r < 2 || (c % 2 != 0 && r % 2 != 0)) return false;
+
+        boolean transpose = r % 2 != 0;
+        int major = transpose ? c : r;   // even dimension, walked in serpentine strips
+        int minor = transpose ? r : c;
+        int[] cyc = new int[c * r];
+        int pos = 0;
+        for (int k = 0; k < minor; k++) {
+            cyc[pos++] = cellOf(transpose, 0, k);
+        }
+        for (int m = 1; m < major; m++) {
+            for (int k = 1; k < minor; k++) {
+                cyc[pos++] = cellOf(transpose, m, m % 2 == 1 ? minor - k : k);
+            }
+        }
+        // Return path along the first minor line, from the last strip back to the start
+        for (int m = major - 1; m >= 1; m--) {
+            cyc[pos++] = cellOf(transpose, m, 0);
+        }
+        int[] ord = new int[c * r];
+        for (int i = 0; i < cyc.length; i++) ord[cyc[i]] = i;
+        cycle = cyc;
+        order = ord;
+        return true;
+    }
+
+    // Maps (strip, position along strip) back to a board cell index
+    private int cellOf(boolean transpose, int strip, int along) {
+        return transpose ? along * cols + strip : strip * cols + along;
+    }
+}
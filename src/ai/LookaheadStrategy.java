@@ -0,0 +1,47 @@
+package ai;
+
+import core.Board;
+import core.Food;
+import core.PathFinder;
+import core.Snake;
+import enums.Direction;
+
+/**
+ * LookaheadStrategy scores every legal move by how much room the snake would have
+ * afterwards (a bounded flood fill from the next cell) and how close it gets to the
+ * food. Moves that leave less room than the snake's own length are treated as traps.
+ * Difficulty raises how far past its own length the flood fill looks.
+ */
+public class LookaheadStrategy implements AIStrategy {
+    public static final String NAME = "lookahead";
+
+    @Override
+    public String getName() { return NAME; }
+
+    @Override
+    public Direction decide(Snake snake, Food food, int difficulty, long deadline) {
+        Board board = snake.getBoard();
+        if (board == null) return null;
+        PathFinder finder = board.getPathFinder();
+        int hx = snake.headX(), hy = snake.headY();
+        int need = snake.length() + 1;
+        int limit = need + 10 * difficulty;
+
+        Direction best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (Direction d : Direction.values()) {
+            if (!Moves.isSafe(snake, d)) continue;
+            int nx = Moves.nextX(hx, d), ny = Moves.nextY(hy, d);
+            int room = finder.floodCount(nx, ny, limit, deadline);
+            if (finder.lastTimedOut()) return null;
+            int foodDist = Math.abs(food.getLocation().x - nx) + Math.abs(food.getLocation().y - ny);
+            // Room dominates while it is scarce; once there is enough, chase the food
+            long score = (room >= need ? 1_000_000L : room * 1_000L) - foodDist;
+            if (score > bestScore) {
+                best = d;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+}
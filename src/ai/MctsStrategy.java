@@ -0,0 +1,225 @@
+package ai;
+
+import core.Food;
+import core.PathFinder;
+import core.Snake;
+import enums.Direction;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * MctsStrategy looks ahead with Monte Carlo tree search against the opponents near the
+ * snake. Each playout replays a sequence of the snake's own moves from the tree, with the
+ * nearby opponents and the rest of the line following a cheap rollout policy (see Playout),
+ * and scores how it went; UCT spends the playouts on the most promising sequences.
+ *
+ * Search runs on `threads` cores with root parallelism: every worker grows its own tree
+ * on its own copy of the position, so workers share nothing until their root visit
+ * counts are added up at the end. The subtree under the chosen move becomes each worker's
+ * root on the next tick, if the snake really made that move. Work stops at the decision's
+ * deadline or after the strategy's own wall-clock budget, whichever comes first.
+ * Playouts are reported to DecisionProfiler, whose report shows playouts per core-second.
+ *
+ * Unlike the other strategies an instance keeps state between calls, so every snake needs
+ * its own. Difficulty sets how far ahead a playout looks.
+ * Demonstrates polymorphism (inclusion) through AIStrategy, and encapsulation of the trees.
+ */
+public class MctsStrategy implements AIStrategy {
+    public static final String NAME = "mcts";
+    // Search time per decision when the caller sets no deadline
+    public static final long DEFAULT_BUDGET_NANOS = 5_000_000L;
+    // Workers per decision unless configured; -Dsnake.mctsThreads overrides
+    public static final int DEFAULT_THREADS =
+        Integer.getInteger("snake.mctsThreads", Runtime.getRuntime().availableProcessors());
+
+    // Shared by every instance; a worker never blocks, so one thread per core is enough
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private static final double EXPLORATION = 0.7;
+    // Playouts between clock reads
+    private static final int CLOCK_CHECK_INTERVAL = 8;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Open-loop tree: a node stands for a sequence of own moves, whatever the others did
+    private static final class Node {
+        final Node[] children = new Node[4];
+        int visits;
+        double value;
+    }
+
+    // Encapsulation: One worker's tree, simulation and counters; touched by one thread at a time
+    private static final class Worker {
+        final SplittableRandom rnd;
+        Node root = new Node();
+        Node[] path = new Node[0];
+        long playouts, busyNanos;
+
+        Worker(long seed) {
+            this.rnd = new SplittableRandom(seed);
+        }
+    }
+
+    private final int threads;
+    private final long budgetNanos;
+    private final Worker[] workers;
+    // Where the snake should be next tick if it makes the move just chosen; -1 for no reuse
+    private Snake lastSnake;
+    private int expectedHead = -1;
+    private long playouts, decisions, reusedVisits, searchNanos;
+
+    public MctsStrategy() {
+        this(DEFAULT_THREADS, DEFAULT_BUDGET_NANOS);
+    }
+
+    // Overloaded constructor: workers per decision and the wall-clock budget per decision
+    public MctsStrategy(int threads, long budgetNanos) {
+        this.threads = Math.max(1, threads);
+        this.budgetNanos = Math.max(0, budgetNanos);
+        this.workers = new Worker[this.threads];
+        SplittableRandom seeds = new SplittableRandom();
+        for (int i = 0; i < workers.length; i++) workers[i] = new Worker(seeds.nextLong());
+    }
+
+    @Override
+    public String getName() { return NAME; }
+
+    @Override
+    public Direction decide(Snake snake, Food food, int difficulty, long deadline) {
+        if (snake.getBoard() == null || snake.length() == 0) return null;
+        long start = System.nanoTime();
+        long stop = start + budgetNanos;
+        if (deadline != PathFinder.NO_DEADLINE) stop = Math.min(stop, deadline);
+        // A tenth of the time is left for the workers to finish their last playouts
+        stop -= (stop - start) / 10;
+        int depth = 4 + 2 * Math.max(1, Math.min(10, difficulty));
+        Playout position = Playout.of(snake, depth, 2 * depth + 2);
+
+        int head = Snake.pack(snake.headX(), snake.headY());
+        if (snake != lastSnake || head != expectedHead) {
+            for (Worker w : workers) w.root = new Node();
+        } else {
+            for (Worker w : workers) reusedVisits += w.root.visits;
+        }
+
+        long before = 0;
+        for (Worker w : workers) before += w.playouts;
+        final long end = stop;
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[threads - 1];
+        for (int i = 1; i < threads; i++) {
+            Worker w = workers[i];
+            tasks[i - 1] = POOL.submit(() -> search(w, position, depth, end));
+        }
+        search(workers[0], position, depth, end);
+        long busy = 0, after = 0;
+        for (ForkJoinTask<?> t : tasks) t.join();
+        for (Worker w : workers) after += w.playouts;
+
+        // The most visited safe move over all trees
+        Direction best = null;
+        int bestVisits = 0;
+        for (Direction d : DIRECTIONS) {
+            if (!Moves.isSafe(snake, d)) continue;
+            int visits = 0;
+            for (Worker w : workers) {
+                Node child = w.root.children[d.ordinal()];
+                if (child != null) visits += child.visits;
+            }
+            if (visits > bestVisits) {
+                best = d;
+                bestVisits = visits;
+            }
+        }
+        for (Worker w : workers) {
+            Node next = best == null ? null : w.root.children[best.ordinal()];
+            w.root = next == null ? new Node() : next;
+            busy += w.busyNanos;
+            w.busyNanos = 0;
+        }
+        lastSnake = snake;
+        expectedHead = best == null ? -1
+                     : Snake.pack(Moves.nextX(snake.headX(), best), Moves.nextY(snake.headY(), best));
+        playouts += after - before;
+        decisions++;
+        searchNanos += System.nanoTime() - start;
+        DecisionProfiler.recordPlayouts(NAME, after - before, busy);
+        return best;
+    }
+
+    // Runs playouts on one worker's tree until the clock passes stop
+    private static void search(Worker w, Playout position, int depth, long stop) {
+        long begin = System.nanoTime();
+        Playout sim = position.copy();
+        if (w.path.length < depth + 1) w.path = new Node[depth + 1];
+        for (long n = 0; ; n++) {
+            if (n % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() - stop >= 0) break;
+            sim.reset();
+            playout(w, sim, depth);
+            w.playouts++;
+        }
+        w.busyNanos += System.nanoTime() - begin;
+    }
+
+    // Selection and expansion down the tree, a rollout to the horizon, then backpropagation
+    private static void playout(Worker w, Playout sim, int depth) {
+        Node[] path = w.path;
+        Node node = w.root;
+        path[0] = node;
+        int steps = 0;
+        boolean alive = true;
+        while (alive && steps < depth) {
+            int d = select(node, sim.direction(), w.rnd);
+            Node child = node.children[d];
+            boolean expanded = child == null;
+            if (expanded) node.children[d] = child = new Node();
+            alive = sim.step(d, w.rnd);
+            path[++steps] = child;
+            node = child;
+            if (expanded) break;
+        }
+        int inTree = steps;
+        while (alive && steps < depth) {
+            alive = sim.step(-1, w.rnd);
+            steps++;
+        }
+        double value = sim.value(steps, depth);
+        for (int i = 0; i <= inTree; i++) {
+            path[i].visits++;
+            path[i].value += value;
+        }
+    }
+
+    // UCT over the three moves that do not reverse; untried moves first, in random order
+    private static int select(Node node, int heading, SplittableRandom rnd) {
+        int reverse = heading ^ 1;
+        int offset = rnd.nextInt(4);
+        for (int i = 0; i < 4; i++) {
+            int d = (offset + i) & 3;
+            if (d != reverse && node.children[d] == null) return d;
+        }
+        double logN = Math.log(node.visits + 1);
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int d = 0; d < 4; d++) {
+            if (d == reverse) continue;
+            Node c = node.children[d];
+            double score = c.value / c.visits + EXPLORATION * Math.sqrt(logN / c.visits);
+            if (score > bestScore) {
+                best = d;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    public int getThreads() { return threads; }
+    public long getBudgetNanos() { return budgetNanos; }
+    public long getPlayouts() { return playouts; }
+    public long getDecisions() { return decisions; }
+    // Visits carried over from the previous tick's tree, summed over all decisions
+    public long getReusedVisits() { return reusedVisits; }
+
+    // Playouts per second of wall-clock search time, over all workers
+    public double getPlayoutsPerSecond() {
+        return searchNanos == 0 ? 0 : playouts * 1e9 / searchNanos;
+    }
+}
@@ -0,0 +1,42 @@
+package ai;
+
+import core.Board;
+import core.Snake;
+import enums.Direction;
+
+/**
+ * Moves holds the grid arithmetic shared by the strategies.
+ * Information hiding: package-private helper, not part of the AI API.
+ */
+final class Moves {
+    private Moves() {}
+
+    static int nextX(int x, Direction d) {
+        return d == Direction.LEFT ? x - 1 : d == Direction.RIGHT ? x + 1 : x;
+    }
+
+    static int nextY(int y, Direction d) {
+        return d == Direction.UP ? y - 1 : d == Direction.DOWN ? y + 1 : y;
+    }
+
+    // The direction that takes (hx, hy) to the adjacent cell (x, y), or null if not adjacent
+    static Direction directionTo(int hx, int hy, int x, int y) {
+        if (x == hx && y == hy - 1) return Direction.UP;
+        if (x == hx && y == hy + 1) return Direction.DOWN;
+        if (x == hx - 1 && y == hy) return Direction.LEFT;
+        if (x == hx + 1 && y == hy) return Direction.RIGHT;
+        return null;
+    }
+
+    // Constant-time lookup against the board's occupancy grid (walls and every snake body)
+    static boolean wouldCollide(Snake snake, Direction dir) {
+        Board board = snake.getBoard();
+        if (board == null) return false;
+        return board.isBlocked(nextX(snake.headX(), dir), nextY(snake.headY(), dir));
+    }
+
+    // A move is legal if it does not reverse into the neck and the target cell is free
+    static boolean isSafe(Snake snake, Direction dir) {
+        return dir != snake.getDirection().opposite() && !wouldCollide(snake, dir);
+    }
+}
@@ -0,0 +1,68 @@
+package ai;
+
+import core.Board;
+import core.Food;
+import core.PathFinder;
+import core.Snake;
+import enums.Direction;
+
+/**
+ * PathFindingStrategy plans a shortest path to the food with the board's reusable BFS
+ * buffers. A step is only taken if the snake can still reach its own tail from there,
+ * which keeps it from sealing itself into a pocket. Difficulty 1..10 scales how far
+ * (in steps) and how much (in cells) it searches.
+ */
+public class PathFindingStrategy implements AIStrategy {
+    public static final String NAME = "bfs";
+
+    @Override
+    public String getName() { return NAME; }
+
+    // Polymorphism (Inclusion): Returns null when the food is beyond the search horizon
+    // or the deadline passed, so the caller's fallback can close the distance
+    @Override
+    public Direction decide(Snake snake, Food food, int difficulty, long deadline) {
+        Board board = snake.getBoard();
+        if (board == null) return null;
+        PathFinder finder = board.getPathFinder();
+        int hx = snake.headX(), hy = snake.headY();
+        int maxDepth = searchDepth(board, difficulty);
+        int maxExpansions = searchBudget(board, difficulty);
+
+        int step = finder.search(hx, hy, food.getLocation().x, food.getLocation().y,
+                                 maxDepth, maxExpansions, deadline);
+        if (step == PathFinder.NOT_FOUND) return null;
+        int cols = board.getCols();
+        Direction toFood = Moves.directionTo(hx, hy, step % cols, step / cols);
+        if (toFood != null && tailReachableAfter(snake, finder, step % cols, step / cols,
+                                                 maxExpansions, deadline)) {
+            return toFood;
+        }
+        // The path to food would trap us: follow the tail until a safe one opens up
+        for (Direction d : Direction.values()) {
+            if (!Moves.isSafe(snake, d)) continue;
+            if (tailReachableAfter(snake, finder, Moves.nextX(hx, d), Moves.nextY(hy, d),
+                                   maxExpansions, deadline)) {
+                return d;
+            }
+        }
+        return null;
+    }
+
+    // Encapsulation: Tail-reachability safety check from a candidate next head cell
+    private boolean tailReachableAfter(Snake snake, PathFinder finder, int x, int y,
+                                       int maxExpansions, long deadline) {
+        if (snake.length() < 3) return true;
+        int tail = snake.length() - 1;
+        return finder.search(x, y, snake.xAt(tail), snake.yAt(tail),
+                             Integer.MAX_VALUE, maxExpansions, deadline) != PathFinder.NOT_FOUND;
+    }
+
+    private static int searchDepth(Board board, int difficulty) {
+        return Math.max(2, (board.getCols() + board.getRows()) * difficulty / 10);
+    }
+
+    private static int searchBudget(Board board, int difficulty) {
+        return Math.max(16, board.getCols() * board.getRows() * difficulty / 10);
+    }
+}
@@ -0,0 +1,301 @@
+package ai;
+
+import core.Board;
+import core.Snake;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Playout is a copy-cheap model of the board around one snake, for MctsStrategy's
+ * simulations. It holds a private copy of the occupancy grid and, as agents, the deciding
+ * snake (agent 0) and the opponents whose heads are near it; farther snakes stay on the
+ * grid as fixed obstacles. A simulation steps every agent at once, as ArenaGameMode does:
+ * each body moves, then anyone whose head hit a body, a wall or another head dies.
+ * Eaten food is not replaced.
+ *
+ * Cells are indices (y * cols + x) and directions are Direction ordinals. Every grid write
+ * is logged, so reset() puts a playout back to its starting position in time proportional
+ * to the moves made, not the board size. Bodies are ring buffers with room for the whole
+ * simulation, so they never need restoring either.
+ * Information hiding: package-private, only MctsStrategy builds and runs playouts.
+ */
+final class Playout {
+    static final int MAX_AGENTS = 8;
+    private static final int FOOD = Board.FOOD;
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0};
+
+    private final int cols, rows;
+    private final int[] grid;
+    private final int[] foods;
+    private final int agents;
+    private final int[] ids;
+    private final int[][] bodies;
+    // Agent state now, and at the start for reset()
+    private final int[] head, length, dir;
+    private final boolean[] alive, grow;
+    private final int[] head0, length0, dir0;
+    private final boolean[] alive0, grow0;
+    // Per step: where each agent's head went (-1 off the board), and who crashed
+    private final int[] moved;
+    private final boolean[] crashed;
+    private int[] undoCell = new int[256], undoValue = new int[256];
+    private int undoCount;
+    private int eaten, kills;
+    private boolean dead;
+
+    private Playout(Playout from) {
+        cols = from.cols;
+        rows = from.rows;
+        grid = from.grid.clone();
+        foods = from.foods;
+        agents = from.agents;
+        ids = from.ids;
+        bodies = new int[agents][];
+        for (int a = 0; a < agents; a++) bodies[a] = from.bodies[a].clone();
+        head0 = from.head0;
+        length0 = from.length0;
+        dir0 = from.dir0;
+        alive0 = from.alive0;
+        grow0 = from.grow0;
+        head = head0.clone();
+        length = length0.clone();
+        dir = dir0.clone();
+        alive = alive0.clone();
+        grow = grow0.clone();
+        moved = new int[agents];
+        crashed = new boolean[agents];
+    }
+
+    private Playout(Snake me, List<Snake> opponents, int depth) {
+        Board board = me.getBoard();
+        cols = board.getCols();
+        rows = board.getRows();
+        grid = new int[cols * rows];
+        board.copyOccupancy(grid);
+        int foodCount = 0;
+        for (int cell : grid) if (cell == FOOD) foodCount++;
+        foods = new int[foodCount];
+        for (int i = 0, f = 0; i < grid.length; i++) if (grid[i] == FOOD) foods[f++] = i;
+
+        agents = 1 + opponents.size();
+        ids = new int[agents];
+        bodies = new int[agents][];
+        head0 = new int[agents];
+        length0 = new int[agents];
+        dir0 = new int[agents];
+        alive0 = new boolean[agents];
+        grow0 = new boolean[agents];
+        for (int a = 0; a < agents; a++) {
+            Snake s = a == 0 ? me : opponents.get(a - 1);
+            int capacity = Integer.highestOneBit(s.length() + depth + 1) * 2;
+            bodies[a] = new int[capacity];
+            for (int i = 0; i < s.length(); i++) bodies[a][i] = s.yAt(i) * cols + s.xAt(i);
+            ids[a] = s.getId();
+            length0[a] = s.length();
+            dir0[a] = s.getDirection().ordinal();
+            alive0[a] = true;
+            grow0[a] = s.isGrowing();
+        }
+        head = head0.clone();
+        length = length0.clone();
+        dir = dir0.clone();
+        alive = alive0.clone();
+        grow = grow0.clone();
+        moved = new int[agents];
+        crashed = new boolean[agents];
+    }
+
+    /**
+     * The position around a snake that is about to move, with the (MAX_AGENTS - 1) nearest
+     * living opponents whose heads are within radius cells (Manhattan) as agents.
+     * Must run on the thread that moves the snakes.
+     */
+    static Playout of(Snake me, int depth, int radius) {
+        int hx = me.headX(), hy = me.headY();
+        List<Snake> near = new ArrayList<>();
+        for (Snake s : me.getBoard().getSnakes()) {
+            if (s == me || s.isEliminated() || s.hasCrashed() || s.length() == 0) continue;
+            if (Math.abs(s.headX() - hx) + Math.abs(s.headY() - hy) <= radius) near.add(s);
+        }
+        near.sort(Comparator.comparingInt(s -> Math.abs(s.headX() - hx) + Math.abs(s.headY() - hy)));
+        if (near.size() > MAX_AGENTS - 1) near = near.subList(0, MAX_AGENTS - 1);
+        return new Playout(me, near, depth);
+    }
+
+    // A private copy for one worker thread; the starting position is shared, read-only
+    Playout copy() {
+        return new Playout(this);
+    }
+
+    int direction() {
+        return dir[0];
+    }
+
+    // Back to the starting position
+    void reset() {
+        while (undoCount > 0) {
+            undoCount--;
+            grid[undoCell[undoCount]] = undoValue[undoCount];
+        }
+        System.arraycopy(head0, 0, head, 0, agents);
+        System.arraycopy(length0, 0, length, 0, agents);
+        System.arraycopy(dir0, 0, dir, 0, agents);
+        System.arraycopy(alive0, 0, alive, 0, agents);
+        System.arraycopy(grow0, 0, grow, 0, agents);
+        eaten = 0;
+        kills = 0;
+        dead = false;
+    }
+
+    /**
+     * One simultaneous step. The deciding snake turns to myDir, or follows the rollout
+     * policy if myDir is negative; opponents always follow it. Returns false once the
+     * deciding snake is dead.
+     */
+    boolean step(int myDir, SplittableRandom rnd) {
+        for (int a = 0; a < agents; a++) {
+            moved[a] = -1;
+            crashed[a] = false;
+            if (!alive[a]) continue;
+            int d = a == 0 && myDir >= 0 ? myDir : policy(a, rnd);
+            dir[a] = d;
+            int[] body = bodies[a];
+            int mask = body.length - 1;
+            int h = body[head[a]];
+            int x = h % cols + DX[d], y = h / cols + DY[d];
+            // The tail leaves first, so following a tail is legal, as in Snake.move()
+            if (!grow[a]) {
+                int tail = body[(head[a] + length[a] - 1) & mask];
+                if (grid[tail] == ids[a]) set(tail, 0);
+                length[a]--;
+            }
+            grow[a] = false;
+            if (x < 0 || y < 0 || x >= cols || y >= rows) continue;
+            int n = y * cols + x;
+            head[a] = (head[a] - 1) & mask;
+            body[head[a]] = n;
+            length[a]++;
+            moved[a] = n;
+        }
+        // Heads land after every body has moved, so collisions see the whole new position
+        for (int a = 0; a < agents; a++) {
+            if (!alive[a]) continue;
+            int n = moved[a];
+            if (n < 0 || grid[n] > 0 || headOnHead(a, n)) {
+                crashed[a] = true;
+                continue;
+            }
+            if (grid[n] == FOOD) {
+                grow[a] = true;
+                if (a == 0) eaten++;
+            }
+            set(n, ids[a]);
+        }
+        for (int a = 0; a < agents; a++) {
+            if (crashed[a]) kill(a);
+        }
+        return !dead;
+    }
+
+    private boolean headOnHead(int a, int n) {
+        for (int b = 0; b < agents; b++) {
+            if (b != a && alive[b] && moved[b] == n) return true;
+        }
+        return false;
+    }
+
+    private void kill(int a) {
+        alive[a] = false;
+        int[] body = bodies[a];
+        int mask = body.length - 1;
+        for (int i = 0; i < length[a]; i++) {
+            int cell = body[(head[a] + i) & mask];
+            if (grid[cell] == ids[a]) set(cell, 0);
+        }
+        if (a == 0) dead = true;
+        else kills++;
+    }
+
+    // Rollout policy: half the time the free move closest to the nearest food, otherwise any free move
+    private int policy(int a, SplittableRandom rnd) {
+        int h = bodies[a][head[a]];
+        int hx = h % cols, hy = h / cols;
+        int reverse = dir[a] ^ 1;
+        int free = 0, choices = 0;
+        for (int d = 0; d < 4; d++) {
+            if (d == reverse) continue;
+            int x = hx + DX[d], y = hy + DY[d];
+            if (x >= 0 && y >= 0 && x < cols && y < rows && grid[y * cols + x] <= 0) {
+                free |= 1 << d;
+                choices++;
+            }
+        }
+        if (choices == 0) return dir[a];
+        if (rnd.nextBoolean()) {
+            int food = nearestFood(hx, hy);
+            if (food >= 0) {
+                int best = -1, bestDist = Integer.MAX_VALUE;
+                for (int d = 0; d < 4; d++) {
+                    if ((free & (1 << d)) == 0) continue;
+                    int dist = Math.abs(food % cols - hx - DX[d]) + Math.abs(food / cols - hy - DY[d]);
+                    if (dist < bestDist) {
+                        best = d;
+                        bestDist = dist;
+                    }
+                }
+                return best;
+            }
+        }
+        int pick = rnd.nextInt(choices);
+        for (int d = 0; ; d++) {
+            if ((free & (1 << d)) != 0 && pick-- == 0) return d;
+        }
+    }
+
+    // The uneaten food cell closest to (x, y), or -1
+    private int nearestFood(int x, int y) {
+        int best = -1, bestDist = Integer.MAX_VALUE;
+        for (int f : foods) {
+            if (grid[f] != FOOD) continue;
+            int dist = Math.abs(f % cols - x) + Math.abs(f / cols - y);
+            if (dist < bestDist) {
+                best = f;
+                bestDist = dist;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * How good the simulation went for the deciding snake, in [0, 1]: dying scores below
+     * 0.3, the later the better; surviving scores at least 0.5, plus food eaten, closeness
+     * to the next food and opponents that died on the way.
+     */
+    double value(int steps, int depth) {
+        if (dead) return 0.3 * steps / depth;
+        double v = 0.5 + 0.2 * Math.min(eaten, 2) / 2;
+        int h = bodies[0][head[0]];
+        int food = nearestFood(h % cols, h / cols);
+        if (food >= 0) {
+            int dist = Math.abs(food % cols - h % cols) + Math.abs(food / cols - h / cols);
+            v += 0.1 * Math.max(0, 1 - dist / (2.0 * depth));
+        }
+        if (agents > 1) v += 0.2 * kills / (agents - 1);
+        return v;
+    }
+
+    private void set(int cell, int value) {
+        if (undoCount == undoCell.length) {
+            undoCell = Arrays.copyOf(undoCell, undoCount * 2);
+            undoValue = Arrays.copyOf(undoValue, undoCount * 2);
+        }
+        undoCell[undoCount] = cell;
+        undoValue[undoCount] = grid[cell];
+        undoCount++;
+        grid[cell] = value;
+    }
+}
@@ -0,0 +1,102 @@
+package ai;
+
+import core.Board;
+import core.Food;
+import core.PathFinder;
+import core.Snake;
+import enums.Direction;
+import java.util.List;
+
+/**
+ * WeightedStrategy is the greedy one-step policy with its priorities turned into numbers:
+ * every legal move is scored as a weighted sum of four features of the cell it leads to,
+ * each scaled to about [0, 1], and the best score wins.
+ *
+ *   food      closeness to the food
+ *   space     free cells reachable from there, up to twice the snake's length
+ *   tail      closeness to the snake's own tail, the way out of a pocket
+ *   opponent  distance from the nearest other snake's head, up to OPPONENT_RANGE
+ *
+ * Negative weights are allowed (e.g. a snake that keeps away from its tail). The weights
+ * come from WeightTuner, whose DifficultyTable gives setDifficulty its levels. A decision
+ * allocates nothing, so tuning games run as fast as the CPU allows.
+ * Demonstrates polymorphism (inclusion) and encapsulation of the weights.
+ */
+public class WeightedStrategy implements AIStrategy {
+    public static final String NAME = "weighted";
+    // Opponents farther than this many cells all count as far away
+    private static final int OPPONENT_RANGE = 10;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Feature weights; see the class comment for what each one rewards. */
+    public record Weights(double food, double space, double tail, double opponent) {
+        public static final int SIZE = 4;
+
+        public double[] toArray() {
+            return new double[] {food, space, tail, opponent};
+        }
+
+        public static Weights of(double[] w) {
+            return new Weights(w[0], w[1], w[2], w[3]);
+        }
+    }
+
+    private final Weights weights;
+
+    public WeightedStrategy(Weights weights) {
+        this.weights = weights;
+    }
+
+    public Weights getWeights() { return weights; }
+
+    @Override
+    public String getName() { return NAME; }
+
+    // Difficulty is already in the weights; the deadline bounds the flood fills
+    @Override
+    public Direction decide(Snake snake, Food food, int difficulty, long deadline) {
+        Board board = snake.getBoard();
+        if (board == null) return null;
+        PathFinder finder = board.getPathFinder();
+        int span = board.getCols() + board.getRows();
+        int hx = snake.headX(), hy = snake.headY();
+        int tailX = snake.xAt(snake.length() - 1), tailY = snake.yAt(snake.length() - 1);
+        int fx = food.getLocation().x, fy = food.getLocation().y;
+        int roomCap = 2 * snake.length() + 2;
+
+        Direction best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Direction d : DIRECTIONS) {
+            if (!Moves.isSafe(snake, d)) continue;
+            int nx = Moves.nextX(hx, d), ny = Moves.nextY(hy, d);
+            double score = 0;
+            if (fx >= 0) score += weights.food() * (1 - (double) (Math.abs(fx - nx) + Math.abs(fy - ny)) / span);
+            if (weights.space() != 0) {
+                int room = finder.floodCount(nx, ny, roomCap, deadline);
+                if (finder.lastTimedOut()) return best;
+                score += weights.space() * room / roomCap;
+            }
+            score += weights.tail() * (1 - (double) (Math.abs(tailX - nx) + Math.abs(tailY - ny)) / span);
+            if (weights.opponent() != 0) {
+                score += weights.opponent() * nearestOpponent(snake, nx, ny) / OPPONENT_RANGE;
+            }
+            if (score > bestScore) {
+                best = d;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // Manhattan distance from (x, y) to the nearest other living head, capped at OPPONENT_RANGE
+    private static int nearestOpponent(Snake snake, int x, int y) {
+        List<Snake> snakes = snake.getBoard().getSnakes();
+        int nearest = OPPONENT_RANGE;
+        for (int i = 0; i < snakes.size(); i++) {
+            Snake s = snakes.get(i);
+            if (s == snake || s.isEliminated() || s.length() == 0) continue;
+            nearest = Math.min(nearest, Math.abs(s.headX() - x) + Math.abs(s.headY() - y));
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,187 @@
+package app;
+
+import core.Board;
+import core.RenderSnapshot;
+import core.Snake;
+import util.Metrics;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import javax.swing.UIManager;
+
+/**
+ * ActiveRenderer paints the game on its own thread through a BufferStrategy instead of
+ * Swing's passive repaint path. The scene is kept in an offscreen frame that is updated
+ * only at the cells each snapshot reports as dirty (new heads, vacated tails, food moves),
+ * so the cost of a frame does not grow with snake length. The frame is then blitted to the
+ * back buffer with the score overlay on top. Whenever the dirty list is missing, a tick
+ * was skipped, or the frame was lost, the whole scene is redrawn instead.
+ * Demonstrates inheritance (extends Canvas), composition, and encapsulation.
+ */
+public class ActiveRenderer extends Canvas implements Runnable {
+    private static final long serialVersionUID = 1L;
+    // Encapsulation: Render inputs
+    private final Board board;
+    private final Supplier<RenderSnapshot> snapshots;
+    private final long frameNanos;
+    // Same background as the passive Swing panel
+    private final Color background = UIManager.getColor("Panel.background") != null
+        ? UIManager.getColor("Panel.background") : Color.LIGHT_GRAY;
+
+    private volatile boolean running;
+    private BufferedImage frame;
+    private long frameTick = Long.MIN_VALUE;
+    // Measurements: how often each redraw path is taken
+    private volatile long fullRedraws, dirtyRedraws;
+    // Drawn over the scene when set
+    private volatile PerformanceOverlay overlay;
+
+    public ActiveRenderer(Board board, Supplier<RenderSnapshot> snapshots, int refreshRate) {
+        this.board = board;
+        this.snapshots = snapshots;
+        this.frameNanos = 1_000_000_000L / Math.max(1, refreshRate);
+        setIgnoreRepaint(true);
+        setFocusable(true);
+    }
+
+    // Starts the render thread; the canvas must be added to a window first
+    public void start() {
+        running = true;
+        Thread t = new Thread(this, "snake-render");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    // Render loop: update the offscreen frame, blit it, show, then wait for the next frame
+    @Override
+    public void run() {
+        while (running && !isDisplayable()) {
+            LockSupport.parkNanos(frameNanos);
+        }
+        if (!running) return;
+        createBufferStrategy(2);
+        BufferStrategy strategy = getBufferStrategy();
+        long next = System.nanoTime();
+        while (running) {
+            long paintStart = Metrics.start();
+            RenderSnapshot snap = snapshots.get();
+            updateFrame(snap);
+            PerformanceOverlay stats = overlay;
+            do {
+                do {
+                    Graphics g = strategy.getDrawGraphics();
+                    try {
+                        g.setColor(background);
+                        g.fillRect(0, 0, getWidth(), getHeight());
+                        g.drawImage(frame, 0, 0, null);
+                        drawScores(g, snap);
+                        if (stats != null) stats.draw(g, getWidth(), 4);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            Metrics.stop(Metrics.Probe.PAINT, paintStart);
+
+            next += frameNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            else next = System.nanoTime();
+        }
+    }
+
+    // Abstraction: Chooses between the dirty-cell path and a full redraw
+    private void updateFrame(RenderSnapshot snap) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (frame == null) {
+            frame = gc.createCompatibleImage(board.getCols() * board.getCellSize() + 1,
+                                             board.getRows() * board.getCellSize() + 1);
+            frameTick = Long.MIN_VALUE;
+        }
+        if (snap.getTick() == frameTick) return;
+        Graphics g = frame.getGraphics();
+        try {
+            if (snap.getTick() == frameTick + 1 && snap.getDirtyCount() >= 0) {
+                for (int i = 0; i < snap.getDirtyCount(); i++) {
+                    redrawCell(g, snap, i);
+                }
+                dirtyRedraws++;
+            } else {
+                redrawAll(g, snap);
+                fullRedraws++;
+            }
+        } finally {
+            g.dispose();
+        }
+        frameTick = snap.getTick();
+    }
+
+    // A changed cell now shows part of a snake, the food, or nothing
+    private void redrawCell(Graphics g, RenderSnapshot snap, int i) {
+        int cell = snap.getDirtyCell(i);
+        int cols = board.getCols();
+        int x = cell % cols, y = cell / cols;
+        int owner = snap.getDirtyOwner(i);
+        g.setColor(owner >= 0 ? snap.getPlayer(owner).color() : background);
+        fillCell(g, x, y);
+        if (owner == RenderSnapshot.FOOD) drawFood(g, x, y);
+    }
+
+    // Fallback: the whole scene, proportional to total body length
+    private void redrawAll(Graphics g, RenderSnapshot snap) {
+        board.draw(g, background);
+        for (int i = 0; i < snap.getFoodCount(); i++) {
+            drawFood(g, snap.getFoodX(i), snap.getFoodY(i));
+        }
+        for (int i = 0; i < snap.getPlayerCount(); i++) {
+            RenderSnapshot.PlayerView p = snap.getPlayer(i);
+            g.setColor(p.color());
+            for (int cell : p.cells()) {
+                int x = Snake.unpackX(cell), y = Snake.unpackY(cell);
+                if (board.inBounds(x, y)) fillCell(g, x, y);
+            }
+        }
+    }
+
+    // Cells are filled inside the grid lines so a cell update never has to redraw the grid
+    private void fillCell(Graphics g, int x, int y) {
+        int cs = board.getCellSize();
+        g.fillRect(x * cs + 1, y * cs + 1, cs - 1, cs - 1);
+    }
+
+    private void drawFood(Graphics g, int x, int y) {
+        int cs = board.getCellSize();
+        g.setColor(Color.RED);
+        g.fillOval(x * cs + 1, y * cs + 1, cs - 1, cs - 1);
+    }
+
+    // The first SnakeGame.SCORE_LINES players only, as in the passive renderer
+    private void drawScores(Graphics g, RenderSnapshot snap) {
+        g.setColor(Color.BLACK);
+        int lines = Math.min(snap.getPlayerCount(), SnakeGame.SCORE_LINES);
+        for (int i = 0; i < lines; i++) {
+            RenderSnapshot.PlayerView p = snap.getPlayer(i);
+            g.drawString(p.name() + ": " + p.score(), 10, 20 + 15 * i);
+        }
+    }
+
+    // Package-private: null hides the overlay
+    void setOverlay(PerformanceOverlay overlay) {
+        this.overlay = overlay;
+    }
+
+    public long getFullRedraws() { return fullRedraws; }
+    public long getDirtyRedraws() { return dirtyRedraws; }
+}
@@ -0,0 +1,171 @@
+package app;
+
+import ai.PathFindingStrategy;
+import core.Board;
+import core.Food;
+import core.GameRandom;
+import core.GameState;
+import core.StandardGameMode;
+import player.AIPlayer;
+import player.Player;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * BatchSimulator runs many independent AI-vs-AI games headlessly and in parallel,
+ * demonstrating composition (each game is its own GameState), encapsulation of the
+ * aggregated statistics, and exception handling. No JPanel or JOptionPane is involved,
+ * so it runs under -Djava.awt.headless=true.
+ */
+public class BatchSimulator {
+    // Encapsulation: Simulation parameters shared by every game in the batch
+    private final int cols, rows;
+    private final long maxTicks;
+
+    public BatchSimulator(int cols, int rows, long maxTicks) {
+        this.cols = cols;
+        this.rows = rows;
+        this.maxTicks = maxTicks;
+    }
+
+    // The BFS AI batches have always measured, rather than AIPlayer's default level
+    static AIPlayer bfs(AIPlayer ai) {
+        ai.setStrategy(new PathFindingStrategy());
+        return ai;
+    }
+
+    /** Outcome of a single game; winner is the seat index, or -1 for a draw. */
+    public record GameResult(long seed, int winner, long ticks, int[] lengths, int[] foodEaten) {}
+
+    // Abstraction: Plays one game to completion as fast as the CPU allows, no sleeping
+    public GameResult runGame(long seed) {
+        Board board = new Board(cols, rows, 30);
+        StandardGameMode mode = new StandardGameMode();
+        GameState state = new GameState(board, mode, new GameRandom(seed));
+        Food food = state.getFood();
+        state.addPlayer(bfs(new AIPlayer("CPU1", cols / 2, rows / 2, food)));
+        state.addPlayer(bfs(new AIPlayer("CPU2", cols / 2, rows / 4, food)));
+        mode.initialize(state);
+        Player[] loser = new Player[1];
+        state.addListener((s, p) -> loser[0] = p);
+
+        while (state.isRunning() && state.getTick() < maxTicks) {
+            state.step();
+        }
+
+        List<Player> players = state.getPlayers();
+        int[] lengths = new int[players.size()];
+        int[] eaten = new int[players.size()];
+        int winner = -1;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            lengths[i] = p.getSnake().length();
+            eaten[i] = p.getScore() / StandardGameMode.FOOD_SCORE;
+        }
+        // With two seats, whoever did not crash wins
+        if (loser[0] != null && players.size() == 2) {
+            winner = players.get(0) == loser[0] ? 1 : 0;
+        }
+        return new GameResult(seed, winner, state.getTick(), lengths, eaten);
+    }
+
+    // Abstraction: Runs `games` games on a dedicated ForkJoinPool; game i is seeded from
+    // baseSeed and i only, so a batch is reproducible regardless of scheduling.
+    public Report run(int games, long baseSeed, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> LongStream.range(0, games).parallel()
+                    .mapToObj(i -> runGame(seedFor(baseSeed, i)))
+                    .collect(Report::new, Report::add, Report::combine))
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // SplitMix64 finalizer: spreads consecutive game indices into unrelated seeds
+    static long seedFor(long baseSeed, long index) {
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Report aggregates GameResults for two seats. It is a mutable accumulator so that
+     * parallel streams can combine partial reports without extra allocation per game.
+     */
+    public static class Report {
+        private long games, draws, totalTicks;
+        private final long[] wins = new long[2];
+        private final long[] totalLength = new long[2];
+        private final long[] totalFood = new long[2];
+
+        void add(GameResult r) {
+            games++;
+            totalTicks += r.ticks();
+            if (r.winner() < 0) draws++;
+            else wins[r.winner()]++;
+            for (int i = 0; i < 2 && i < r.lengths().length; i++) {
+                totalLength[i] += r.lengths()[i];
+                totalFood[i] += r.foodEaten()[i];
+            }
+        }
+
+        void combine(Report other) {
+            games += other.games;
+            draws += other.draws;
+            totalTicks += other.totalTicks;
+            for (int i = 0; i < 2; i++) {
+                wins[i] += other.wins[i];
+                totalLength[i] += other.totalLength[i];
+                totalFood[i] += other.totalFood[i];
+            }
+        }
+
+        public long getGames() { return games; }
+        public long getTotalTicks() { return totalTicks; }
+        public double winRate(int seat) { return games == 0 ? 0 : (double) wins[seat] / games; }
+        public double drawRate() { return games == 0 ? 0 : (double) draws / games; }
+        public double meanLength(int seat) { return games == 0 ? 0 : (double) totalLength[seat] / games; }
+        public double meanFood(int seat) { return games == 0 ? 0 : (double) totalFood[seat] / games; }
+        public double meanTicks() { return games == 0 ? 0 : (double) totalTicks / games; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("games: %d, draws: %.1f%%, mean ticks survived: %.1f%n",
+                                    games, 100 * drawRate(), meanTicks()));
+            for (int i = 0; i < 2; i++) {
+                sb.append(String.format("CPU%d: win rate %.1f%%, mean length %.1f, mean food eaten %.2f%n",
+                                        i + 1, 100 * winRate(i), meanLength(i), meanFood(i)));
+            }
+            return sb.toString();
+        }
+    }
+
+    // Usage: BatchSimulator [games] [seed] [maxTicks] [cols] [rows] [threads]
+    public static void main(String[] args) {
+        int games    = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long seed    = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        long ticks   = args.length > 2 ? Long.parseLong(args[2]) : 5000L;
+        int cols     = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        int rows     = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        int threads  = args.length > 5 ? Integer.parseInt(args[5])
+                                       : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        Report report = new BatchSimulator(cols, rows, ticks).run(games, seed, threads);
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.print(report);
+        System.out.printf("%.2f s on %d threads (%.0f games/s, %.0f ticks/s)%n",
+                          secs, threads, report.getGames() / secs, report.getTotalTicks() / secs);
+    }
+}
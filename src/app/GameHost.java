@@ -0,0 +1,367 @@
+package app;
+
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import core.StandardGameMode;
+import player.AIPlayer;
+import util.LatencyHistogram;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * GameHost runs many independent headless game rooms in one process, each with its own
+ * Board, Food, players and GameMode, on a shared tick scheduler instead of a thread per
+ * game. One scheduler thread splits every tick period into SLOTS equal slots and gives each
+ * room a slot, so the rooms' ticks are spread evenly over the period; when a slot is due its
+ * rooms are handed to a fixed pool of workers in batches of BATCH. A room never runs two
+ * ticks at once, so its GameState needs no locking, and a game that ends is followed by a
+ * new one in the same room until the room is closed.
+ *
+ * Backpressure works at two levels. A room whose previous tick has not finished when the
+ * next one is due skips that tick (counted as dropped) instead of queueing it. The host
+ * measures how busy its workers were and what share of due ticks was dropped over the last
+ * second, and while either is too high createRoom() refuses new rooms with a
+ * RejectedExecutionException. A single pause (a GC, a burst of room creation) only costs
+ * the ticks it delays, so a few drops alone do not count as saturation.
+ * Demonstrates composition (the host owns its rooms), encapsulation of the scheduling policy
+ * and exception handling: a room that throws is closed without disturbing the others.
+ */
+public class GameHost implements Closeable {
+    // Slots per tick period; rooms in different slots tick at different times
+    private static final int SLOTS = 10;
+    // Rooms ticked one after another by a single worker task
+    private static final int BATCH = 32;
+    // Worker load, as a fraction of the pool, above which the host counts as saturated
+    private static final double MAX_LOAD = 0.8;
+    // Share of due ticks dropped in a window above which the host counts as saturated
+    private static final double MAX_DROPPED = 0.01;
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    /** Lifecycle of a room: created RUNNING, may be paused and resumed, ends CLOSED or FAILED. */
+    public enum Status { RUNNING, PAUSED, CLOSED, FAILED }
+
+    /** Counters of one room at the time of asking. */
+    public record RoomStats(int id, Status status, long ticks, long rounds, long droppedTicks,
+                            double meanTickNanos, long maxTickNanos, long maxLateNanos) {}
+
+    /**
+     * Room is one game session. Lifecycle methods may be called from any thread; the game
+     * itself is only touched by the worker that ticks it.
+     */
+    public final class Room {
+        private final int id;
+        private final int slot;
+        private final LongFunction<GameState> setup;
+        private final GameRandom seeds;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile Status status = Status.RUNNING;
+        private volatile Throwable failure;
+        private GameState state;
+        // Encapsulation: Per-room metrics, written by one worker at a time
+        private volatile long ticks, rounds, droppedTicks, tickNanos, maxTickNanos, maxLateNanos;
+
+        private Room(int id, int slot, LongFunction<GameState> setup, long seed) {
+            this.id = id;
+            this.slot = slot;
+            this.setup = setup;
+            this.seeds = new GameRandom(seed);
+            this.state = setup.apply(seeds.nextLong());
+        }
+
+        public int getId() { return id; }
+        public Status getStatus() { return status; }
+        // What a FAILED room threw, otherwise null
+        public Throwable getFailure() { return failure; }
+
+        // Stops ticking until resume(); the game keeps its state
+        public synchronized void pause() {
+            if (status == Status.RUNNING) status = Status.PAUSED;
+        }
+
+        public synchronized void resume() {
+            if (status == Status.PAUSED) status = Status.RUNNING;
+        }
+
+        // Removes the room from the host; a tick already under way still finishes
+        public void close() {
+            synchronized (this) {
+                if (status == Status.CLOSED || status == Status.FAILED) return;
+                status = Status.CLOSED;
+            }
+            remove(this);
+        }
+
+        public RoomStats getStats() {
+            long n = ticks;
+            return new RoomStats(id, status, n, rounds, droppedTicks, n == 0 ? 0 : (double) tickNanos / n,
+                                 maxTickNanos, maxLateNanos);
+        }
+
+        // Runs on a worker: one tick, or the start of the next game if the last one ended
+        private void tick(long due) {
+            try {
+                if (status != Status.RUNNING) return;
+                long start = System.nanoTime();
+                long late = start - due;
+                if (state.isRunning()) {
+                    state.step();
+                } else {
+                    state = setup.apply(seeds.nextLong());
+                    rounds++;
+                }
+                long cost = System.nanoTime() - start;
+                ticks++;
+                tickNanos += cost;
+                if (cost > maxTickNanos) maxTickNanos = cost;
+                if (late > maxLateNanos) maxLateNanos = late;
+                tickCost.record(cost);
+                lateness.record(late);
+            } catch (RuntimeException e) {
+                // Exception Handling: A broken game ends its own room, nobody else's
+                failure = e;
+                synchronized (this) {
+                    status = Status.FAILED;
+                }
+                remove(this);
+            } finally {
+                busy.set(false);
+            }
+        }
+    }
+
+    private final long stepNanos;
+    private final int workers;
+    private final int maxRooms;
+    private final ExecutorService pool;
+    private final Thread scheduler;
+    private final List<List<Room>> slots = new ArrayList<>();
+    private final Map<Integer, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final GameRandom seeds = new GameRandom(System.nanoTime());
+    private volatile boolean running = true;
+
+    // Host-wide measurements: the cost of a tick, how late it started, and the last window's load
+    private final LatencyHistogram tickCost = new LatencyHistogram();
+    private final LatencyHistogram lateness = new LatencyHistogram();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Scheduler thread only
+    private long dueInWindow;
+    private volatile double load;
+    private volatile double droppedShare;
+
+    // Rooms tick `tickRate` times a second on `workers` threads; at most maxRooms rooms
+    public GameHost(int tickRate, int workers, int maxRooms) {
+        if (tickRate <= 0) throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        this.stepNanos = 1_000_000_000L / tickRate;
+        this.workers = Math.max(1, workers);
+        this.maxRooms = maxRooms;
+        for (int i = 0; i < SLOTS; i++) slots.add(new CopyOnWriteArrayList<>());
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "room-worker-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler = new Thread(this::schedule, "room-scheduler");
+        scheduler.setDaemon(true);
+        scheduler.start();
+    }
+
+    /**
+     * Opens a room whose games come from setup, called with a fresh seed for every game;
+     * it must return an initialized GameState. Throws RejectedExecutionException when the
+     * host is closed, full or saturated.
+     */
+    public Room createRoom(LongFunction<GameState> setup) {
+        if (!running) throw new RejectedExecutionException("Host closed");
+        if (rooms.size() >= maxRooms) throw new RejectedExecutionException("Host full: " + maxRooms + " rooms");
+        if (isSaturated()) {
+            throw new RejectedExecutionException(String.format("Host saturated: load %.2f, %.1f%% of ticks dropped",
+                                                                load, 100 * droppedShare));
+        }
+        int slot = 0;
+        for (int i = 1; i < SLOTS; i++) {
+            if (slots.get(i).size() < slots.get(slot).size()) slot = i;
+        }
+        Room room = new Room(nextId.getAndIncrement(), slot, setup, seeds.nextLong());
+        rooms.put(room.id, room);
+        slots.get(slot).add(room);
+        return room;
+    }
+
+    // Abstraction: Two AIs on a StandardGameMode board, like a BatchSimulator game
+    public static LongFunction<GameState> aiDuel(int cols, int rows) {
+        return seed -> {
+            Board board = new Board(cols, rows, 30);
+            StandardGameMode mode = new StandardGameMode();
+            GameState state = new GameState(board, mode, new GameRandom(seed));
+            state.addPlayer(BatchSimulator.bfs(new AIPlayer("CPU1", cols / 2, rows / 2, state.getFood())));
+            state.addPlayer(BatchSimulator.bfs(new AIPlayer("CPU2", cols / 2, rows / 4, state.getFood())));
+            mode.initialize(state);
+            return state;
+        };
+    }
+
+    public Room getRoom(int id) { return rooms.get(id); }
+    public Collection<Room> getRooms() { return rooms.values(); }
+    public int getRoomCount() { return rooms.size(); }
+    // Fraction of the workers' time spent ticking over the last second
+    public double getLoad() { return load; }
+    // Fraction of the ticks due over the last second that were dropped
+    public double getDroppedShare() { return droppedShare; }
+    public long getDroppedTicks() { return dropped.get(); }
+    public LatencyHistogram getTickCost() { return tickCost; }
+    public LatencyHistogram getLateness() { return lateness; }
+
+    // True while the last second's load or dropped ticks say no more rooms fit
+    public boolean isSaturated() {
+        return load > MAX_LOAD || droppedShare > MAX_DROPPED;
+    }
+
+    private void remove(Room room) {
+        if (rooms.remove(room.id) != null) slots.get(room.slot).remove(room);
+    }
+
+    // Scheduler loop: dispatches one slot every stepNanos / SLOTS, closing a load window every second
+    private void schedule() {
+        long slotNanos = stepNanos / SLOTS;
+        long due = System.nanoTime();
+        long windowStart = due, windowDropped = dropped.get();
+        int slot = 0;
+        while (running) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            dispatch(slots.get(slot), due);
+            slot = (slot + 1) % SLOTS;
+            due += slotNanos;
+            long now = System.nanoTime();
+            // A scheduler that fell a whole period behind skips ahead; the rooms' dropped ticks show it
+            if (now - due > stepNanos) due = now;
+            if (now - windowStart >= WINDOW_NANOS) {
+                load = busyNanos.getAndSet(0) / ((double) workers * (now - windowStart));
+                long d = dropped.get();
+                droppedShare = dueInWindow == 0 ? 0 : (double) (d - windowDropped) / dueInWindow;
+                windowDropped = d;
+                dueInWindow = 0;
+                windowStart = now;
+            }
+        }
+    }
+
+    // Hands a slot's rooms to the workers in batches; a room still busy skips this tick
+    private void dispatch(List<Room> slot, long due) {
+        Room[] batch = new Room[BATCH];
+        int size = 0;
+        for (Room room : slot) {
+            if (room.status != Status.RUNNING) continue;
+            dueInWindow++;
+            if (!room.busy.compareAndSet(false, true)) {
+                room.droppedTicks++;
+                dropped.incrementAndGet();
+                continue;
+            }
+            batch[size++] = room;
+            if (size == BATCH) {
+                submit(batch, size, due);
+                batch = new Room[BATCH];
+                size = 0;
+            }
+        }
+        if (size > 0) submit(batch, size, due);
+    }
+
+    private void submit(Room[] batch, int size, long due) {
+        try {
+            pool.execute(() -> {
+                long start = System.nanoTime();
+                for (int i = 0; i < size; i++) batch[i].tick(due);
+                busyNanos.addAndGet(System.nanoTime() - start);
+            });
+        } catch (RejectedExecutionException e) {
+            // Only after close(); the rooms will not tick again
+            for (int i = 0; i < size; i++) batch[i].busy.set(false);
+        }
+    }
+
+    // Stops the scheduler and the workers; ticks under way finish, rooms end CLOSED
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(scheduler);
+        for (Room room : new ArrayList<>(rooms.values())) room.close();
+        pool.shutdown();
+        try {
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rooms: %d, load: %.2f, dropped ticks: %d%ntick cost: %s%nlateness: %s",
+                             getRoomCount(), load, getDroppedTicks(), tickCost, lateness);
+    }
+
+    /**
+     * Capacity test: adds AI duel rooms in steps of `step` every second, as long as the host
+     * accepts them, then holds the final count for `hold` seconds and reports it.
+     * Usage: GameHost [workers] [step] [hold seconds] [cols] [rows] [tick rate]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int workers  = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int step     = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int hold     = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int cols     = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        int rows     = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        int tickRate = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+
+        try (GameHost host = new GameHost(tickRate, workers, Integer.MAX_VALUE)) {
+            LongFunction<GameState> duel = aiDuel(cols, rows);
+            boolean full = false;
+            while (!full) {
+                for (int i = 0; i < step; i++) {
+                    try {
+                        host.createRoom(duel);
+                    } catch (RejectedExecutionException e) {
+                        System.out.println(e.getMessage());
+                        full = true;
+                        break;
+                    }
+                }
+                // Let the new rooms settle into a full measurement window
+                Thread.sleep(2 * WINDOW_NANOS / 1_000_000);
+                System.out.printf("%d rooms, load %.2f, %d ticks dropped%n",
+                                  host.getRoomCount(), host.getLoad(), host.getDroppedTicks());
+            }
+            host.getTickCost().reset();
+            host.getLateness().reset();
+            long droppedBefore = host.getDroppedTicks();
+            Thread.sleep(hold * 1000L);
+            long ticks = host.getTickCost().getCount();
+            System.out.println(host);
+            System.out.printf("%d rooms on %d workers: %.0f ticks/s (%.1f per room), %d dropped in %d s%n",
+                              host.getRoomCount(), workers, ticks / (double) hold,
+                              ticks / (double) hold / host.getRoomCount(), host.getDroppedTicks() - droppedBefore, hold);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package app;
 
+import util.Leaderboard;
 import util.ScoreManager;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.util.Map;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * The MainMenu class represents the main menu of the Snake Adventures game.
@@ -18,6 +20,8 @@ public class MainMenu {
     // Encapsulation: Static constants for panel dimensions, shared across instances
     private static final int PANEL_WIDTH  = 600;
     private static final int PANEL_HEIGHT = 600;
+    // Rows shown in the high-score dialog
+    private static final int SCORES_SHOWN = 20;
 
     // Constructor: Initializes the menu, demonstrating composition and encapsulation
     public MainMenu() {
@@ -29,7 +33,7 @@ public class MainMenu {
         frame.setSize(PANEL_WIDTH, PANEL_HEIGHT);
         frame.setLocationRelativeTo(null);
         frame.getContentPane().setBackground(Color.BLACK);
-        frame.setLayout(new GridLayout(4, 1, 10, 10));
+        frame.setLayout(new GridLayout(6, 1, 10, 10));
 
         // Composition: Menu contains JButtons, created using abstracted method
         // Extensibility: New buttons can be added easily
@@ -39,6 +43,10 @@ public class MainMenu {
         btnLocal.setForeground(Color.BLACK);
         var btnAI     = makeButton("3: Vs AI", () -> launchGame(3), Color.DARK_GRAY);
         btnAI.setForeground(Color.BLACK);
+        var btnArena  = makeButton("4: Arena", () -> launchGame(4), Color.DARK_GRAY);
+        btnArena.setForeground(Color.BLACK);
+        var btnNet    = makeButton("5: Network Game", () -> launchNetworkGame(), Color.DARK_GRAY);
+        btnNet.setForeground(Color.BLACK);
         var btnScore  = makeButton("S: Scoreboard", () -> showScores());
         btnScore.setForeground(Color.BLACK);
 
@@ -46,6 +54,8 @@ public class MainMenu {
         frame.add(btnSingle);
         frame.add(btnLocal);
         frame.add(btnAI);
+        frame.add(btnArena);
+        frame.add(btnNet);
         frame.add(btnScore);
         frame.setVisible(true);
     }
@@ -76,13 +86,26 @@ public class MainMenu {
         SnakeGame.start(mode);
     }
 
+    // Abstraction: Hosts a server in this process, joins one at host[:port] or watches one
+    private void launchNetworkGame() {
+        String[] options = {"Host", "Join", "Watch", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(frame, "Host a game on this machine, join one or watch one?",
+            "Network Game", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice < 0 || choice > 2) return;
+        String address = choice > 0 ? JOptionPane.showInputDialog(frame, "Server (host[:port]):", "localhost") : "";
+        if (address == null) return;
+        String name = JOptionPane.showInputDialog(frame, choice == 2 ? "Spectator name:" : "Player name:", "Player1");
+        if (name == null) return;
+        frame.dispose();
+        NetworkGame.start(choice == 0, choice == 2, address.trim(), name);
+    }
+
     // Abstraction & Information Hiding: Hides score retrieval and display logic
-    // Composition: Uses ScoreManager to load scores
+    // Composition: Reads the best scores from the ScoreManager's leaderboard, already ordered
     private void showScores() {
-        var scores = ScoreManager.load();
-        String msg = scores.entrySet().stream()
-            .sorted(Map.Entry.<String,Integer>comparingByValue().reversed())
-            .map(e -> e.getKey() + ": " + e.getValue())
+        List<Leaderboard.Entry> top = ScoreManager.leaderboard().top(SCORES_SHOWN);
+        String msg = IntStream.range(0, top.size())
+            .mapToObj(i -> (i + 1) + ". " + top.get(i).name() + ": " + top.get(i).score())
             .collect(Collectors.joining("\n"));
         JOptionPane.showMessageDialog(frame, msg.isEmpty() ? "No scores yet." : msg,
                                       "High Scores", JOptionPane.PLAIN_MESSAGE);
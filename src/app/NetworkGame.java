@@ -0,0 +1,145 @@
+package app;
+
+import core.Board;
+import core.Food;
+import core.RenderSnapshot;
+import core.Snake;
+import enums.Direction;
+import net.GameClient;
+import net.GameServer;
+import net.Protocol;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * NetworkGame is the Swing front end of a GameClient: it paints the client's latest
+ * snapshot, with the local snake predicted ahead of the server, and sends arrow or WASD
+ * key presses as inputs. The game itself runs on a GameServer, which this window may host
+ * in the same process. Demonstrates composition (the panel owns a client) and inheritance
+ * (extends JPanel), like SnakeGame.
+ */
+public class NetworkGame extends JPanel {
+    private static final long serialVersionUID = 1L;
+    private static final int PANEL_WIDTH  = 800;
+    private static final int PANEL_HEIGHT = 650;
+
+    private final GameClient client;
+    // Present only when this window hosts the server
+    private final GameServer server;
+    private final Timer renderTimer;
+    // Grid for the server's board size, created once the welcome arrives
+    private Board board;
+
+    private NetworkGame(GameClient client, GameServer server) {
+        this.client = client;
+        this.server = server;
+        setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+        setFocusable(true);
+        renderTimer = new Timer(1000 / 60, e -> repaint());
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                Direction d = switch (e.getKeyCode()) {
+                    case KeyEvent.VK_UP, KeyEvent.VK_W    -> Direction.UP;
+                    case KeyEvent.VK_DOWN, KeyEvent.VK_S  -> Direction.DOWN;
+                    case KeyEvent.VK_LEFT, KeyEvent.VK_A  -> Direction.LEFT;
+                    case KeyEvent.VK_RIGHT, KeyEvent.VK_D -> Direction.RIGHT;
+                    default -> null;
+                };
+                if (d != null) client.sendInput(d);
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    SwingUtilities.getWindowAncestor(NetworkGame.this).dispose();
+                    MainMenu.main(null);
+                }
+            }
+        });
+    }
+
+    // Extensibility: Hosts a server on the default port and joins it, or joins or watches one elsewhere
+    public static void start(boolean host, boolean spectate, String address, String name) {
+        GameServer server = null;
+        try {
+            if (host) {
+                server = new GameServer(new InetSocketAddress(Protocol.DEFAULT_PORT), 64, 48);
+                new Thread(server, "snake-server").start();
+                address = "localhost";
+            }
+            int colon = address.lastIndexOf(':');
+            String hostName = colon < 0 ? address : address.substring(0, colon);
+            int port = colon < 0 ? Protocol.DEFAULT_PORT : Integer.parseInt(address.substring(colon + 1));
+            GameClient client = new GameClient(hostName, port, name, spectate);
+            client.start();
+            show(new NetworkGame(client, server));
+        } catch (IOException | NumberFormatException e) {
+            // Exception Handling: Back to the menu with the reason
+            if (server != null) server.close();
+            JOptionPane.showMessageDialog(null, "Network game failed: " + e.getMessage(),
+                                          "Error", JOptionPane.ERROR_MESSAGE);
+            MainMenu.main(null);
+        }
+    }
+
+    private static void show(NetworkGame game) {
+        JFrame wnd = new JFrame("Snake Adventures - Network");
+        wnd.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        wnd.setResizable(false);
+        wnd.setContentPane(game);
+        wnd.setSize(PANEL_WIDTH, PANEL_HEIGHT);
+        wnd.setLocationRelativeTo(null);
+        wnd.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) { game.shutdown(); }
+            @Override
+            public void windowClosed(WindowEvent e) { game.shutdown(); }
+        });
+        wnd.setVisible(true);
+        game.requestFocusInWindow();
+        game.renderTimer.start();
+    }
+
+    private void shutdown() {
+        renderTimer.stop();
+        client.close();
+        if (server != null) server.close();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        RenderSnapshot snap = client.getSnapshot();
+        if (snap == null || client.getCols() == 0) {
+            g.drawString(client.isConnected() ? "Waiting for the server..." : "Disconnected", 10, 20);
+            return;
+        }
+        if (board == null || board.getCols() != client.getCols() || board.getRows() != client.getRows()) {
+            int pixels = Math.max(1, Math.min(PANEL_WIDTH / client.getCols(),
+                                              (PANEL_HEIGHT - 50) / client.getRows()));
+            board = new Board(client.getCols(), client.getRows(), 600 / pixels);
+        }
+        int cellSize = board.getCellSize();
+        board.draw(g, getBackground());
+        for (int i = 0; i < snap.getFoodCount(); i++) {
+            Food.draw(g, cellSize, snap.getFoodX(i), snap.getFoodY(i));
+        }
+        for (int i = 0; i < snap.getPlayerCount(); i++) {
+            RenderSnapshot.PlayerView p = snap.getPlayer(i);
+            g.setColor(p.color());
+            for (int cell : p.cells()) {
+                g.fillRect(Snake.unpackX(cell) * cellSize, Snake.unpackY(cell) * cellSize, cellSize, cellSize);
+            }
+            if (i < 10) {
+                g.setColor(Color.BLACK);
+                g.drawString((i == client.getSeat() ? "> " : "") + p.name() + ": " + p.score(), 10, 20 + 15 * i);
+            }
+        }
+        g.setColor(Color.BLACK);
+        g.drawString(String.format("tick %d  ping %.0f ms", snap.getTick(), client.getRttNanos() / 1e6),
+                     10, getHeight() - 10);
+    }
+}
@@ -0,0 +1,84 @@
+package app;
+
+import util.LatencyHistogram;
+import util.Metrics;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PerformanceOverlay draws the live Metrics in a corner of the game: tick p50/p99, frames
+ * per second, the allocation rate of the tick path, key-press-to-turn latency and the move
+ * cost of the PLAYER_LINES slowest players by p99 (for CPU players, mostly the AI decision),
+ * with a count of the rest. Rates are resampled twice a second so the text is readable.
+ * Drawn by whichever renderer is active; toggled with F3 in SnakeGame.
+ * Demonstrates abstraction (renderers just call draw) and encapsulation.
+ */
+final class PerformanceOverlay {
+    private static final long SAMPLE_NANOS = 500_000_000L;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKDROP = new Color(0, 0, 0, 170);
+    // Player lines shown; an arena has more players than fit on screen
+    private static final int PLAYER_LINES = 8;
+
+    // Guarded by this: the renderer thread and the EDT may both draw
+    private long sampledAt;
+    private long framesAtSample;
+    private long allocatedAtSample;
+    private final List<String> lines = new ArrayList<>();
+
+    // Draws the overlay with its top-right corner at (right, top)
+    synchronized void draw(Graphics g, int right, int top) {
+        long now = System.nanoTime();
+        if (sampledAt == 0 || now - sampledAt >= SAMPLE_NANOS) resample(now);
+        g.setFont(FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        int width = 0;
+        for (String line : lines) width = Math.max(width, g.getFontMetrics().stringWidth(line));
+        int x = right - width - 12;
+        g.setColor(BACKDROP);
+        g.fillRect(x - 6, top, width + 12, lineHeight * lines.size() + 8);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lines.size(); i++) {
+            g.drawString(lines.get(i), x, top + 4 + lineHeight * (i + 1) - 3);
+        }
+    }
+
+    private void resample(long now) {
+        long frames = Metrics.histogram(Metrics.Probe.PAINT).getCount();
+        long allocated = Metrics.allocatedBytes();
+        double secs = sampledAt == 0 ? 0 : (now - sampledAt) / 1e9;
+        double fps = secs > 0 ? Math.max(0, frames - framesAtSample) / secs : 0;
+        double allocRate = secs > 0 ? Math.max(0, allocated - allocatedAtSample) / secs : 0;
+        sampledAt = now;
+        framesAtSample = frames;
+        allocatedAtSample = allocated;
+
+        LatencyHistogram tick = Metrics.histogram(Metrics.Probe.TICK);
+        lines.clear();
+        lines.add(String.format("tick  p50 %7.1f us  p99 %7.1f us", tick.getPercentile(50) / 1e3,
+                                tick.getPercentile(99) / 1e3));
+        lines.add(String.format("FPS %5.1f   alloc %8.1f KB/s", fps, allocRate / 1024));
+        LatencyHistogram input = Metrics.histogram(Metrics.Probe.INPUT);
+        if (input.getCount() > 0) {
+            lines.add(String.format("input p50 %7.1f ms  p99 %7.1f ms", input.getPercentile(50) / 1e6,
+                                    input.getPercentile(99) / 1e6));
+        }
+        // Slowest first: p99 is computed once per player, then sorted on
+        Map<String, LatencyHistogram> players = Metrics.players();
+        Map<String, Long> p99 = new HashMap<>();
+        players.forEach((name, h) -> p99.put(name, h.getPercentile(99)));
+        List<String> names = new ArrayList<>(players.keySet());
+        names.sort(Comparator.comparing(p99::get, Comparator.reverseOrder()));
+        for (String name : names.subList(0, Math.min(PLAYER_LINES, names.size()))) {
+            lines.add(String.format("%-8.8s p50 %7.1f us  p99 %7.1f us", name,
+                                    players.get(name).getPercentile(50) / 1e3, p99.get(name) / 1e3));
+        }
+        if (names.size() > PLAYER_LINES) lines.add((names.size() - PLAYER_LINES) + " more players");
+    }
+}
@@ -1,36 +1,70 @@
 package app;
 
+import core.ArenaGameMode;
 import core.Board;
 import core.Food;
+import core.GameListener;
+import core.GameLoop;
 import core.GameMode;
+import core.GameRandom;
+import core.GameState;
+import core.RenderSnapshot;
+import core.Snake;
 import core.StandardGameMode;
 import enums.ControlType;
 import player.Player;
 import player.HumanPlayer;
 import player.AIPlayer;
+import replay.ReplayRecorder;
+import util.Metrics;
+import util.ScoreManager;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
+import java.awt.event.KeyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * SnakeGame manages the game loop and UI, demonstrating OOP concepts: encapsulation,
  * composition, inheritance, subtyping, polymorphism (coercion, inclusion, parametric),
  * exception handling, and extensibility.
  */
-public class SnakeGame extends JPanel implements Runnable {
+public class SnakeGame extends JPanel {
     // Encapsulation: Private fields with controlled access
     private static final int PANEL_WIDTH  = 800;
     private static final int PANEL_HEIGHT = 650;
+    // -Dsnake.render=active paints through a BufferStrategy with dirty-cell updates
+    private static final boolean ACTIVE_RENDERING = "active".equals(System.getProperty("snake.render"));
+    // Mode 4: one human against -Dsnake.arenaPlayers - 1 CPU snakes on a -Dsnake.arena=COLSxROWS board
+    private static final int ARENA = 4;
+    // Score lines drawn in the corner; arenas have far more players than fit
+    static final int SCORE_LINES = 10;
     private final Board board;
     private final Food food;
-    // Parametric Polymorphism: Generic List<Player> for type-safe player collection
-    private final List<Player> players = new ArrayList<>();
-    private boolean running;
-    private boolean paused = false;
-    private final Object pauseLock = new Object();
+    // Composition: The headless engine; this panel only renders it and feeds it input
+    private final GameState state;
+    // Composition: Fixed-timestep loop that drives the state on its own thread
+    private final GameLoop loop;
+    // The last two immutable snapshots published by the game thread, swapped as one unit
+    private record Frames(RenderSnapshot previous, RenderSnapshot current) {}
+    private volatile Frames frames;
+    // Repaints at display rate, independently of the simulation tick rate
+    private final Timer renderTimer;
+    // Composition: Present only in active rendering mode
+    private ActiveRenderer activeRenderer;
+    // Present only when -Dsnake.replayDir is set
+    private ReplayRecorder recorder;
+    // F3 shows live tick, frame and AI costs; metrics are only collected while it is shown
+    private final PerformanceOverlay overlay = new PerformanceOverlay();
+    private volatile boolean showOverlay;
+    private boolean metricsWereEnabled;
     private final int mode;
     // Composition & Extensibility: GameMode interface for pluggable game logic
     private final GameMode gameMode;
@@ -43,53 +77,92 @@ public class SnakeGame extends JPanel implements Runnable {
         setFocusable(true);
 
         // Composition: Contains Board and Food objects
-        board = new Board(40, 30, 30);
-        food = new Food(board.getCols(), board.getRows());
+        board = mode == ARENA ? arenaBoard() : new Board(40, 30, 30);
         // Extensibility: Uses GameMode for flexible game logic
-        gameMode = new StandardGameMode();
+        gameMode = mode == ARENA ? new ArenaGameMode(board) : new StandardGameMode();
+        // The state owns a seeded generator, so every game can be recorded and replayed
+        state = new GameState(board, gameMode, new GameRandom(System.nanoTime()));
+        food = state.getFood();
+        loop = new GameLoop(state, null);
+        renderTimer = new Timer(1000 / displayRefreshRate(), e -> repaint());
 
         // Subtyping: HumanPlayer and AIPlayer as Player subtypes
-        String p1 = JOptionPane.showInputDialog("Player1 name:", "Player1");
-        var player1 = new HumanPlayer(
-            p1, board.getCols()/2, board.getRows()/2, ControlType.ARROWS, Color.GREEN
-        );
+        String p1 = askName("Player1");
+        Point start = mode == ARENA ? ArenaGameMode.spawnPoint(board, state.getRandom())
+                                    : new Point(board.getCols()/2, board.getRows()/2);
+        var player1 = new HumanPlayer(p1, start.x, start.y, ControlType.ARROWS, Color.GREEN);
         player1.getKeyAdapter().ifPresent(this::addKeyListener);
-        players.add(player1);
+        state.addPlayer(player1);
 
         switch (mode) {
             case 2 -> {
-                String p2 = JOptionPane.showInputDialog("Player2 name:", "Player2");
+                String p2 = askName("Player2");
                 var player2 = new HumanPlayer(
                     p2, board.getCols()/2, board.getRows()/4, ControlType.WASD, Color.BLUE
                 );
                 player2.getKeyAdapter().ifPresent(this::addKeyListener);
-                players.add(player2);
+                state.addPlayer(player2);
             }
             case 3 -> {
                 var ai = new AIPlayer(
                     "CPU", board.getCols()/2, board.getRows()/4, food
                 );
-                players.add(ai);
+                adjustAIDifficulty(ai, AIPlayer.configuredDifficulty());
+                state.addPlayer(ai);
+            }
+            case ARENA -> {
+                int players = Integer.getInteger("snake.arenaPlayers", 50);
+                int difficulty = AIPlayer.configuredDifficulty();
+                for (int i = 1; i < players; i++) {
+                    Point at = ArenaGameMode.spawnPoint(board, state.getRandom());
+                    if (at == null) break;
+                    var ai = new AIPlayer("CPU " + i, at.x, at.y, food);
+                    adjustAIDifficulty(ai, difficulty);
+                    state.addPlayer(ai);
+                }
             }
         }
 
+        gameMode.initialize(state);
+        startRecording();
+        frames = new Frames(null, RenderSnapshot.capture(state));
+        // Swing is just one listener: publish snapshots for painting, and on a crash
+        // show it, persist scores and return to the menu
+        state.addListener(new GameListener() {
+            @Override
+            public void onGameOver(GameState s, Player loser) { SnakeGame.this.onGameOver(s, loser); }
+            @Override
+            public void onTick(GameState s) { publishSnapshot(s); }
+            @Override
+            public void onPlayerEliminated(GameState s, Player p) { SnakeGame.this.onPlayerEliminated(s, p); }
+        });
+
         // Composition: Key listener for pause functionality
         addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
                 if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
                     togglePauseMenu();
+                } else if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    toggleOverlay();
                 }
             }
         });
+
+        if (ACTIVE_RENDERING) {
+            // The canvas takes keyboard focus, so it receives the same key listeners
+            board.setDirtyTracking(true);
+            activeRenderer = new ActiveRenderer(board, () -> frames.current(), displayRefreshRate());
+            for (KeyListener kl : getKeyListeners()) activeRenderer.addKeyListener(kl);
+            setLayout(new BorderLayout());
+            add(activeRenderer, BorderLayout.CENTER);
+        }
     }
 
     // Abstraction & Information Hiding: Hides pause menu logic
     private void togglePauseMenu() {
-        // Encapsulation: Modifies paused state safely
-        synchronized (pauseLock) {
-            paused = true;
-        }
+        // Encapsulation: The loop owns the paused state
+        loop.pause();
         // Composition: Uses JDialog for pause menu
         Window w = SwingUtilities.getWindowAncestor(this);
         JDialog dlg = new JDialog(w, "Paused", Dialog.ModalityType.APPLICATION_MODAL);
@@ -108,10 +181,7 @@ public class SnakeGame extends JPanel implements Runnable {
         // Polymorphism (Inclusion): Dynamic behavior via ActionListeners
         btnResume.addActionListener(a -> {
             dlg.dispose();
-            synchronized (pauseLock) {
-                paused = false;
-                pauseLock.notifyAll();
-            }
+            loop.resume();
         });
         btnRestart.addActionListener(a -> {
             dlg.dispose();
@@ -127,71 +197,187 @@ public class SnakeGame extends JPanel implements Runnable {
         dlg.setVisible(true);
     }
 
+    // Turning the overlay off leaves metrics as they were, e.g. enabled over JMX
+    private void toggleOverlay() {
+        showOverlay = !showOverlay;
+        if (showOverlay) {
+            metricsWereEnabled = Metrics.isEnabled();
+            Metrics.setEnabled(true);
+        } else {
+            Metrics.setEnabled(metricsWereEnabled);
+        }
+        if (activeRenderer != null) activeRenderer.setOverlay(showOverlay ? overlay : null);
+    }
+
     // Extensibility: Static method to start game, allows new modes
     public static void start(int mode) {
         JFrame wnd = new JFrame("Snake Adventures");
         wnd.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         wnd.setResizable(false);
         var game = new SnakeGame(mode);
+        Metrics.registerMBean();
         // Composition: JFrame contains SnakeGame panel
         wnd.setContentPane(game);
         wnd.setSize(PANEL_WIDTH, PANEL_HEIGHT);
         wnd.setLocationRelativeTo(null);
+        // Closing or disposing the window (restart, main menu) stops the loop thread
+        wnd.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) { game.shutdown(); }
+            @Override
+            public void windowClosed(WindowEvent e) { game.shutdown(); }
+        });
         wnd.setVisible(true);
-        new Thread(game).start();
+        if (game.activeRenderer != null) {
+            game.activeRenderer.requestFocusInWindow();
+            game.activeRenderer.start();
+        } else {
+            game.renderTimer.start();
+        }
+        new Thread(game.loop, "snake-game-loop").start();
     }
 
-    // Polymorphism (Coercion): Explicit casting for AI-specific behavior
-    public void adjustAIDifficulty(Player player, int difficulty) {
-        if (player instanceof AIPlayer aiPlayer) {
-            // Hypothetical method to set AI difficulty
-            aiPlayer.setDifficulty(difficulty);
+    // -Dsnake.replayDir=<dir> keeps a replay of every game in that directory, with a
+    // seekable checkpoint every -Dsnake.replayCheckpoint ticks (default 500, 0 for none)
+    private void startRecording() {
+        String dir = System.getProperty("snake.replayDir");
+        if (dir == null) return;
+        // Exception Handling: A game without a replay is better than no game
+        try {
+            Path path = Files.createDirectories(Paths.get(dir))
+                .resolve("game-" + System.currentTimeMillis() + ".snkr");
+            recorder = ReplayRecorder.attach(state, Files.newOutputStream(path), true,
+                                             Integer.getInteger("snake.replayCheckpoint", 500));
+        } catch (IOException e) {
+            System.err.println("Replay recording disabled: " + e.getMessage());
         }
     }
 
-    // Game loop: Demonstrates polymorphism (inclusion) and exception handling
-    @Override
-    public void run() {
-        running = true;
-        while (running) {
-            // Encapsulation: Thread-safe pause handling
-            synchronized (pauseLock) {
-                while (paused) {
-                    // Exception Handling: Catches InterruptedException
-                    try { pauseLock.wait(); }
-                    catch (InterruptedException ignored) {}
-                }
-            }
+    private void shutdown() {
+        loop.stop();
+        renderTimer.stop();
+        if (activeRenderer != null) activeRenderer.stop();
+        // A game abandoned mid-way still leaves a complete replay up to where it stopped
+        if (recorder != null) recorder.finish(state.getTick());
+    }
 
-            // Extensibility: Delegates to GameMode for game logic
-            // Polymorphism (Inclusion): Calls move() on Player subtypes
-            gameMode.update(this);
-            repaint();
-            // Exception Handling: Handles thread sleep interruption
-            try { Thread.sleep(100); }
-            catch (InterruptedException ignored) {}
+    // Runs on the game thread: the only place that reads live Snake state for rendering
+    private void publishSnapshot(GameState s) {
+        frames = new Frames(frames.current(), RenderSnapshot.capture(s));
+    }
+
+    // Refresh rate of the default screen, 60 Hz if the platform does not report one
+    private static int displayRefreshRate() {
+        try {
+            int hz = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return hz == DisplayMode.REFRESH_RATE_UNKNOWN ? 60 : Math.max(1, hz);
+        } catch (HeadlessException e) {
+            return 60;
+        }
+    }
+
+    // -Dsnake.arena=COLSxROWS (default 160x120), with cells as large as the panel allows
+    private static Board arenaBoard() {
+        String[] size = System.getProperty("snake.arena", "160x120").split("x");
+        int cols = Integer.parseInt(size[0].trim());
+        int rows = Integer.parseInt(size[1].trim());
+        int pixels = Math.max(1, Math.min(PANEL_WIDTH / cols, (PANEL_HEIGHT - 50) / rows));
+        // Board divides 600 by its cellSize argument to get pixels per cell
+        return new Board(cols, rows, 600 / pixels);
+    }
+
+    // The arena plays on without the humans, so their last elimination ends the game
+    private void onPlayerEliminated(GameState state, Player eliminated) {
+        if (!(eliminated instanceof HumanPlayer) || !state.isRunning()) return;
+        for (Player p : state.getPlayers()) {
+            if (p instanceof HumanPlayer && !p.getSnake().isEliminated()) return;
+        }
+        state.setRunning(false);
+        state.fireGameOver(eliminated);
+    }
+
+    // Abstraction: Game-over presentation, reported by the GameMode through GameState
+    private void onGameOver(GameState state, Player loser) {
+        for (Player p : state.getPlayers()) {
+            // Arena CPU snakes would crowd the score table
+            if (mode == ARENA && !(p instanceof HumanPlayer)) continue;
+            int delta = (p == loser ? -20 : 15);
+            ScoreManager.updateScore(p.getName(), delta);
+        }
+        SwingUtilities.invokeLater(() -> {
+            JOptionPane.showMessageDialog(null, loser.getName() + " crashed!");
+            MainMenu.main(null);
+        });
+    }
+
+    // The dialog returns null on Cancel; the score table needs a name either way
+    private static String askName(String fallback) {
+        String name = JOptionPane.showInputDialog(fallback + " name:", fallback);
+        return name == null || name.isBlank() ? fallback : name.trim();
+    }
+
+    // Polymorphism (Coercion): Explicit casting for AI-specific behavior
+    public void adjustAIDifficulty(Player player, int difficulty) {
+        if (player instanceof AIPlayer aiPlayer) {
+            aiPlayer.setDifficulty(difficulty);
         }
     }
 
     // Abstraction: Delegates rendering to components
+    // Paints only from snapshots, sliding each segment from its previous cell toward its
+    // current one by the fraction of the tick that has elapsed since the last update.
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = Metrics.start();
         super.paintComponent(g);
-        board.draw(g);
-        food.draw(g, board.getCellSize());
-        // Subtyping & Polymorphism: Iterates over Player subtypes
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-            g.setColor(p.getColor());
-            p.getSnake().draw(g, board.getCellSize());
+        Frames f = frames;
+        RenderSnapshot curr = f.current();
+        RenderSnapshot prev = f.previous();
+        if (prev == null || prev.getTick() != curr.getTick() - 1) prev = curr;
+        double alpha = Math.min(1.0,
+            (System.nanoTime() - curr.getCapturedAt()) / (double) loop.getStepNanos());
+        int cellSize = board.getCellSize();
+
+        board.draw(g, getBackground());
+        for (int i = 0; i < curr.getFoodCount(); i++) {
+            Food.draw(g, cellSize, curr.getFoodX(i), curr.getFoodY(i));
+        }
+        for (int i = 0; i < curr.getPlayerCount(); i++) {
+            RenderSnapshot.PlayerView now = curr.getPlayer(i);
+            RenderSnapshot.PlayerView before = i < prev.getPlayerCount() ? prev.getPlayer(i) : now;
+            g.setColor(now.color());
+            drawInterpolated(g, before.cells(), now.cells(), alpha, cellSize);
+            if (i >= SCORE_LINES) continue;
             g.setColor(Color.BLACK);
-            g.drawString(p.getName() + ": " + p.getScore(), 10, 20 + 15 * i);
+            g.drawString(now.name() + ": " + now.score(), 10, 20 + 15 * i);
+        }
+        if (showOverlay) overlay.draw(g, getWidth(), 4);
+        Metrics.stop(Metrics.Probe.PAINT, paintStart);
+    }
+
+    // Segment j moves from before[j] to now[j]; a newly grown tail stays where it was
+    private static void drawInterpolated(Graphics g, int[] before, int[] now,
+                                         double alpha, int cellSize) {
+        for (int j = 0; j < now.length; j++) {
+            int cx = Snake.unpackX(now[j]), cy = Snake.unpackY(now[j]);
+            int from = before.length == 0 ? now[j] : before[Math.min(j, before.length - 1)];
+            int px = Snake.unpackX(from), py = Snake.unpackY(from);
+            if (Math.abs(cx - px) + Math.abs(cy - py) > 1) {
+                px = cx;
+                py = cy;
+            }
+            g.fillRect((int) Math.round((px + (cx - px) * alpha) * cellSize),
+                       (int) Math.round((py + (cy - py) * alpha) * cellSize),
+                       cellSize, cellSize);
         }
     }
 
     // Encapsulation: Getters for GameMode access
     public Board getBoard() { return board; }
     public Food getFood() { return food; }
-    public List<Player> getPlayers() { return players; }
-    public void setRunning(boolean running) { this.running = running; }
+    public List<Player> getPlayers() { return state.getPlayers(); }
+    public GameState getState() { return state; }
+    public GameLoop getLoop() { return loop; }
+    public void setRunning(boolean running) { state.setRunning(running); }
 }
\ No newline at end of file
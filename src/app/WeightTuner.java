@@ -0,0 +1,239 @@
+package app;
+
+import ai.DifficultyTable;
+import ai.PathFindingStrategy;
+import ai.WeightedStrategy;
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import core.StandardGameMode;
+import player.AIPlayer;
+import player.Player;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * WeightTuner evolves WeightedStrategy weights offline with a genetic algorithm and turns
+ * the result into a DifficultyTable. A candidate's fitness is its mean score over seeded
+ * headless duels against the BFS AI (PathFindingStrategy), with seats alternating: half
+ * for the result (1 for a win, 0.5 for a draw) and half for its share of the food both
+ * snakes ate. All candidates of a generation play the same seeds, so they are compared on
+ * equal terms, and every (candidate, game) pair is its own task on a ForkJoinPool, so all
+ * cores stay busy. Games run unthrottled, like BatchSimulator's; the weighted AI allocates
+ * nothing per decision.
+ *
+ * Each generation keeps the best quarter, and fills the rest with children of tournament
+ * winners (uniform crossover, then Gaussian mutation that narrows over the run). The
+ * difficulty table takes LEVELS candidates from everything evaluated, with fitness spread
+ * evenly from the weakest to the best, plays them all again on fresh seeds, and orders
+ * them by that score.
+ * Demonstrates composition (each game is its own GameState) and encapsulation of the search.
+ */
+public class WeightTuner {
+    // Weights start and mutate within [-RANGE, RANGE]
+    private static final double RANGE = 2.0;
+    // Games per level when the final table is measured again on fresh seeds
+    private static final int VALIDATION_GAMES = 200;
+
+    /** One evaluated weight vector. */
+    public record Candidate(WeightedStrategy.Weights weights, double fitness) {}
+
+    private final int cols, rows;
+    private final long maxTicks;
+    private final int gamesPerCandidate;
+    private final ForkJoinPool pool;
+    private final AtomicLong games = new AtomicLong();
+    private final AtomicLong ticks = new AtomicLong();
+
+    public WeightTuner(int cols, int rows, long maxTicks, int gamesPerCandidate, int threads) {
+        this.cols = cols;
+        this.rows = rows;
+        this.maxTicks = maxTicks;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    // Abstraction: One duel; the tuned AI sits first on even games and second on odd ones
+    double play(WeightedStrategy.Weights weights, long seed, boolean first) {
+        Board board = new Board(cols, rows, 30);
+        StandardGameMode mode = new StandardGameMode();
+        GameState state = new GameState(board, mode, new GameRandom(seed));
+        AIPlayer tuned = new AIPlayer("Tuned", cols / 2, first ? rows / 2 : rows / 4, state.getFood());
+        tuned.setStrategy(new WeightedStrategy(weights));
+        AIPlayer reference = new AIPlayer("Reference", cols / 2, first ? rows / 4 : rows / 2, state.getFood());
+        reference.setStrategy(new PathFindingStrategy());
+        if (first) {
+            state.addPlayer(tuned);
+            state.addPlayer(reference);
+        } else {
+            state.addPlayer(reference);
+            state.addPlayer(tuned);
+        }
+        mode.initialize(state);
+        Player[] loser = new Player[1];
+        state.addListener((s, p) -> loser[0] = p);
+        while (state.isRunning() && state.getTick() < maxTicks) {
+            state.step();
+        }
+        games.incrementAndGet();
+        ticks.addAndGet(state.getTick());
+        double outcome = loser[0] == reference ? 1 : loser[0] == tuned ? 0 : 0.5;
+        // The reference often crashes by itself, so surviving alone would reward a snake that never eats
+        int mine = tuned.getScore(), theirs = reference.getScore();
+        double foodShare = mine + theirs == 0 ? 0.5 : (double) mine / (mine + theirs);
+        return (outcome + foodShare) / 2;
+    }
+
+    // Mean score of every candidate over the same `games` seeds, all pairs in parallel
+    double[] evaluate(List<WeightedStrategy.Weights> population, long baseSeed, int games) {
+        double[] results = new double[population.size() * games];
+        try {
+            pool.submit(() -> IntStream.range(0, results.length).parallel().forEach(i -> {
+                int game = i % games;
+                results[i] = play(population.get(i / games), BatchSimulator.seedFor(baseSeed, game), game % 2 == 0);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tuning failed", e.getCause());
+        }
+        double[] fitness = new double[population.size()];
+        for (int i = 0; i < results.length; i++) fitness[i / games] += results[i] / games;
+        return fitness;
+    }
+
+    /**
+     * Runs the genetic algorithm and returns every candidate it evaluated, in order;
+     * progress goes to standard output, one line per generation.
+     */
+    public List<Candidate> evolve(int generations, int populationSize, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<WeightedStrategy.Weights> population = new ArrayList<>();
+        // The hand-written priorities of GreedyStrategy, roughly: food first, then anything safe
+        population.add(new WeightedStrategy.Weights(1, 0, 0, 0));
+        while (population.size() < populationSize) population.add(randomWeights(rnd));
+        int elite = Math.max(1, populationSize / 4);
+        List<Candidate> history = new ArrayList<>();
+        for (int g = 0; g < generations; g++) {
+            long start = System.nanoTime(), gamesBefore = games.get(), ticksBefore = ticks.get();
+            double[] fitness = evaluate(population, BatchSimulator.seedFor(seed, g), gamesPerCandidate);
+            List<Candidate> ranked = new ArrayList<>();
+            for (int i = 0; i < fitness.length; i++) ranked.add(new Candidate(population.get(i), fitness[i]));
+            ranked.sort(Comparator.comparingDouble(Candidate::fitness).reversed());
+            history.addAll(ranked);
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("gen %2d: best %.3f %s, mean %.3f, %.0f games/s, %.0f ticks/s%n", g,
+                              ranked.get(0).fitness(), ranked.get(0).weights(), Arrays.stream(fitness).average().orElse(0),
+                              (games.get() - gamesBefore) / secs, (ticks.get() - ticksBefore) / secs);
+
+            double sigma = 0.5 * (1 - (double) g / generations) + 0.05;
+            List<WeightedStrategy.Weights> next = new ArrayList<>();
+            for (int i = 0; i < elite; i++) next.add(ranked.get(i).weights());
+            while (next.size() < populationSize) {
+                double[] a = tournament(ranked, rnd).toArray(), b = tournament(ranked, rnd).toArray();
+                double[] child = new double[WeightedStrategy.Weights.SIZE];
+                for (int k = 0; k < child.length; k++) {
+                    double gene = rnd.nextBoolean() ? a[k] : b[k];
+                    child[k] = Math.max(-RANGE, Math.min(RANGE, gene + sigma * gaussian(rnd)));
+                }
+                next.add(WeightedStrategy.Weights.of(child));
+            }
+            population = next;
+        }
+        return history;
+    }
+
+    /**
+     * Picks DifficultyTable.LEVELS candidates whose fitness is spread evenly from the
+     * weakest to the best, measures them again on fresh seeds, and returns them weakest first.
+     */
+    public List<Candidate> difficultyLevels(List<Candidate> history, long seed) {
+        List<Candidate> sorted = new ArrayList<>(history);
+        sorted.sort(Comparator.comparingDouble(Candidate::fitness));
+        double lo = sorted.get(0).fitness(), hi = sorted.get(sorted.size() - 1).fitness();
+        List<WeightedStrategy.Weights> picked = new ArrayList<>();
+        int from = 0;
+        for (int level = 0; level < DifficultyTable.LEVELS; level++) {
+            double target = lo + (hi - lo) * level / (DifficultyTable.LEVELS - 1);
+            // The first candidate at or above the target that is not taken yet; elites recur
+            int i = from;
+            while (i < sorted.size() - 1
+                   && (sorted.get(i).fitness() < target || picked.contains(sorted.get(i).weights()))) i++;
+            picked.add(sorted.get(i).weights());
+            from = Math.min(i + 1, sorted.size() - 1);
+        }
+        double[] fitness = evaluate(picked, seed, VALIDATION_GAMES);
+        List<Candidate> levels = new ArrayList<>();
+        for (int i = 0; i < fitness.length; i++) levels.add(new Candidate(picked.get(i), fitness[i]));
+        levels.sort(Comparator.comparingDouble(Candidate::fitness));
+        return levels;
+    }
+
+    private static WeightedStrategy.Weights tournament(List<Candidate> ranked, SplittableRandom rnd) {
+        Candidate best = null;
+        for (int i = 0; i < 3; i++) {
+            Candidate c = ranked.get(rnd.nextInt(ranked.size()));
+            if (best == null || c.fitness() > best.fitness()) best = c;
+        }
+        return best.weights();
+    }
+
+    private static WeightedStrategy.Weights randomWeights(SplittableRandom rnd) {
+        double[] w = new double[WeightedStrategy.Weights.SIZE];
+        for (int k = 0; k < w.length; k++) w[k] = rnd.nextDouble(-RANGE, RANGE);
+        return WeightedStrategy.Weights.of(w);
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+    private static double gaussian(SplittableRandom rnd) {
+        return Math.sqrt(-2 * Math.log(1 - rnd.nextDouble())) * Math.cos(2 * Math.PI * rnd.nextDouble());
+    }
+
+    public long getGamesPlayed() { return games.get(); }
+    public long getTicksPlayed() { return ticks.get(); }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Usage: WeightTuner [generations] [population] [games per candidate] [seed] [threads] [output file]
+    public static void main(String[] args) throws IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int population  = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int games       = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        long seed       = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        int threads     = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Path out        = args.length > 5 ? Paths.get(args[5]) : DifficultyTable.FILE;
+
+        WeightTuner tuner = new WeightTuner(40, 30, 2000, games, threads);
+        long start = System.nanoTime();
+        try {
+            List<Candidate> levels = tuner.difficultyLevels(tuner.evolve(generations, population, seed), ~seed);
+            WeightedStrategy.Weights[] table = new WeightedStrategy.Weights[levels.size()];
+            String[] notes = new String[levels.size()];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = levels.get(i).weights();
+                notes[i] = String.format("fitness %.3f", levels.get(i).fitness());
+                System.out.printf("level %d: %s, %s%n", i + 1, table[i], notes[i]);
+            }
+            DifficultyTable.write(out, table, notes);
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Wrote %s; %d games, %d ticks in %.1f s on %d threads (%.0f games/s, %.0f ticks/s)%n",
+                              out, tuner.getGamesPlayed(), tuner.getTicksPlayed(), secs, threads,
+                              tuner.getGamesPlayed() / secs, tuner.getTicksPlayed() / secs);
+        } finally {
+            tuner.shutdown();
+        }
+    }
+}
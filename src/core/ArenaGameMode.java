@@ -0,0 +1,192 @@
+package core;
+
+import player.AIPlayer;
+import player.Player;
+import util.Metrics;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ArenaGameMode runs free-for-all games for any number of human and CPU players, sized for
+ * large boards (500x500 and more, dozens of snakes). A crash eliminates only the snake that
+ * crashed: its body leaves the board and the game goes on until at most one snake is left.
+ * Every question asked per player is answered by the board's shared occupancy grid or by
+ * an index on the board's cells, so a player's update costs the same however many cells
+ * the other snakes cover:
+ * - head-to-body: the grid reports the crash as the snake moves (see Snake.move),
+ * - head-to-head: each head stamps its cell for the current tick; a second head on a
+ *   stamped cell eliminates both,
+ * - food: a per-cell food index replaces scanning every food item.
+ * Snakes move in seat order, as in StandardGameMode, and crashed snakes stay on the board
+ * until every snake has moved, so a tick's outcome does not depend on who crashed first.
+ * Demonstrates extensibility (a second GameMode), composition and encapsulation.
+ */
+public class ArenaGameMode implements GameMode {
+    // Side of the empty square a new snake is placed in the middle of
+    public static final int SPAWN_CLEARANCE = 7;
+    // Default food density: one item per this many cells
+    private static final int CELLS_PER_FOOD = 400;
+
+    private final int foodCount;
+    // Information Hiding: Per-cell indices sized to the board on first update
+    private Food[] foodAt;
+    private int[] headStamp;
+    private int[] headSeat;
+    private int stamp;
+    // Tick the indices are valid for; anything else (e.g. a restored checkpoint) rebuilds them
+    private long indexedTick = -1;
+    // Seat count at the last rebuild; players may join a running arena, e.g. over the network
+    private int indexedPlayers;
+    private int alive;
+    private final BitSet dying = new BitSet();
+
+    public ArenaGameMode(int foodCount) {
+        this.foodCount = Math.max(1, foodCount);
+    }
+
+    // Overloaded constructor: food scaled to the board's size
+    public ArenaGameMode(Board board) {
+        this(board.getCols() * board.getRows() / CELLS_PER_FOOD);
+    }
+
+    @Override
+    public int getFoodCount() {
+        return foodCount;
+    }
+
+    /**
+     * Picks a start cell in the middle of an empty SPAWN_CLEARANCE square, using the board's
+     * sector index, or any free cell once the board is too crowded for that. Returns null if
+     * the board is full. Call it for each player in turn, adding the player before asking
+     * for the next cell, so that snakes spread out.
+     */
+    public static Point spawnPoint(Board board, Random rnd) {
+        int cell = board.findFreeRegion(SPAWN_CLEARANCE, rnd);
+        if (cell < 0) cell = board.randomFreeCell(rnd);
+        return cell < 0 ? null : new Point(cell % board.getCols(), cell / board.getCols());
+    }
+
+    // Abstraction: Tops the board up to getFoodCount() food items and lets CPU players see all of them
+    @Override
+    public void initialize(GameState state) {
+        while (state.getFoods().size() < getFoodCount()) {
+            state.spawnFood();
+        }
+        for (Player p : state.getPlayers()) {
+            if (p instanceof AIPlayer ai) ai.setFoods(state.getFoods());
+        }
+        reindex(state);
+    }
+
+    // Snakes still on the board
+    public int getAliveCount() {
+        return alive;
+    }
+
+    // Polymorphism (Inclusion): Calls move() on Player subtypes
+    @Override
+    public void update(GameState state) {
+        if (indexedTick != state.getTick() || indexedPlayers != state.getPlayers().size()) reindex(state);
+        Board board = state.getBoard();
+        int cols = board.getCols();
+        List<Player> players = state.getPlayers();
+        stamp++;
+        dying.clear();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            Snake s = p.getSnake();
+            if (s.isEliminated()) continue;
+            long t = Metrics.start();
+            p.move();
+            Metrics.stopMove(p.getName(), t);
+
+            int x = s.headX(), y = s.headY();
+            if (!board.inBounds(x, y)) {
+                dying.set(seat);
+                continue;
+            }
+            int idx = y * cols + x;
+            t = Metrics.start();
+            Food food = foodAt[idx];
+            if (food != null) {
+                s.grow();
+                p.addScore(StandardGameMode.FOOD_SCORE);
+                foodAt[idx] = null;
+                food.respawn();
+                index(food, board);
+            }
+            Metrics.stop(Metrics.Probe.FOOD, t);
+
+            t = Metrics.start();
+            if (board.checkCollision(s)) dying.set(seat);
+            if (headStamp[idx] == stamp) {
+                // Head-to-head: whoever got here first dies too
+                dying.set(seat);
+                dying.set(headSeat[idx]);
+            } else {
+                headStamp[idx] = stamp;
+                headSeat[idx] = seat;
+            }
+            Metrics.stop(Metrics.Probe.COLLISION, t);
+        }
+        Player last = null;
+        for (int seat = dying.nextSetBit(0); seat >= 0; seat = dying.nextSetBit(seat + 1)) {
+            last = players.get(seat);
+            eliminate(state, last);
+        }
+        indexedTick = state.getTick() + 1;
+        if (last != null) checkGameOver(state, last);
+    }
+
+    // Abstraction: Takes the loser off the board; the game ends once at most one snake is left
+    @Override
+    public void handleGameOver(GameState state, Player loser) {
+        if (loser.getSnake().isEliminated()) return;
+        eliminate(state, loser);
+        checkGameOver(state, loser);
+    }
+
+    private void eliminate(GameState state, Player p) {
+        state.getBoard().detach(p.getSnake());
+        alive--;
+        state.firePlayerEliminated(p);
+    }
+
+    // A solo game ends with its only snake; otherwise the last snake standing wins
+    private void checkGameOver(GameState state, Player lastLoser) {
+        int survivors = state.getPlayers().size() > 1 ? 1 : 0;
+        if (alive <= survivors && state.isRunning()) {
+            state.setRunning(false);
+            state.fireGameOver(lastLoser);
+        }
+    }
+
+    // Rebuilds the per-cell indices and the alive count from the state, in O(cells)
+    private void reindex(GameState state) {
+        Board board = state.getBoard();
+        int cells = board.getCols() * board.getRows();
+        if (foodAt == null || foodAt.length != cells) {
+            foodAt = new Food[cells];
+            headStamp = new int[cells];
+            headSeat = new int[cells];
+        } else {
+            Arrays.fill(foodAt, null);
+        }
+        for (Food f : state.getFoods()) index(f, board);
+        alive = 0;
+        for (Player p : state.getPlayers()) {
+            if (!p.getSnake().isEliminated()) alive++;
+        }
+        indexedTick = state.getTick();
+        indexedPlayers = state.getPlayers().size();
+    }
+
+    // Food with nowhere left to spawn sits off the board and is not indexed
+    private void index(Food food, Board board) {
+        Point at = food.getLocation();
+        if (board.inBounds(at.x, at.y)) foodAt[at.y * board.getCols() + at.x] = food;
+    }
+}
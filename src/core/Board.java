@@ -1,12 +1,65 @@
 package core;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Color;
+import java.awt.Point;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
 
 public class Board {
+    // Grids larger than this many pixels are drawn line by line instead of being cached
+    private static final long MAX_CACHED_GRID_PIXELS = 16L * 1024 * 1024;
+    // Past this many changed cells in one batch a full redraw is cheaper than cell updates
+    private static final int MAX_DIRTY_CELLS = 4096;
+    // Spatial partition: the grid is split into square sectors of 2^SECTOR_SHIFT cells a side
+    private static final int SECTOR_SHIFT = 4;
+    private static final int SECTOR = 1 << SECTOR_SHIFT;
+    // Random free cells tried by findFreeRegion once no sector is entirely empty
+    private static final int REGION_ATTEMPTS = 64;
+
     // Encapsulation: The fields are private, ensuring that they can only be accessed
     // and modified through the public methods provided by the class.
     private final int cols, rows, cellSize;
+    // Tag stored in the occupancy grid for a cell holding food
+    public static final int FOOD = -1;
+
+    // Occupancy grid: one slot per cell, indexed by y * cols + x. A value of 0 means the
+    // cell is empty, FOOD marks food, otherwise it holds the id of the snake covering it.
+    private final int[] occupancy;
+    // Free-cell index: a Fenwick tree counting empty cells by cell index, so cells join and
+    // leave in O(log n) and the k-th empty cell is found in O(log n). Which cell a draw picks
+    // depends only on the occupancy grid, never on the order cells were freed in.
+    private final int[] freeTree;
+    private int freeCount;
+    // Free cells per sector, kept up to date by the free-cell index, so empty regions of a
+    // large board are found by scanning sectors rather than cells
+    private final int sectorCols, sectorRows;
+    private final int[] sectorFree;
+    private int nextSnakeId = 1;
+    // Every snake attached so far, in attach order, for AIs that look ahead at opponents
+    private final List<Snake> snakes = new ArrayList<>();
+    private final List<Snake> snakesView = Collections.unmodifiableList(snakes);
+    // Composition: Search buffers sized to this board, created on first use
+    private PathFinder pathFinder;
+    // Cached static background: the grid rendered once for the screen it is drawn on
+    private BufferedImage gridLayer;
+    private GraphicsConfiguration gridConfig;
+    private Color gridBackground;
+    // Dirty-cell log for renderers that redraw only what changed; off unless requested
+    private boolean trackDirty;
+    private int[] dirtyCells = new int[64];
+    private int dirtyCount;
+    private boolean dirtyOverflow;
+    private int[] dirtyMark;
+    private int dirtyGeneration = 1;
 
     // Constructor: Demonstrates encapsulation by initializing the private fields
     // and ensuring that the object is in a valid state when created.
@@ -14,6 +67,40 @@ public class Board {
         this.cols = cols;
         this.rows = rows;
         this.cellSize = 600 / cellSize; // Example of abstraction: hiding the calculation logic.
+        this.occupancy = new int[cols * rows];
+        this.freeTree = new int[cols * rows + 1];
+        resetFreeCells();
+        this.sectorCols = (cols + SECTOR - 1) >> SECTOR_SHIFT;
+        this.sectorRows = (rows + SECTOR - 1) >> SECTOR_SHIFT;
+        this.sectorFree = new int[sectorCols * sectorRows];
+        resetSectors();
+    }
+
+    // Every cell back in the free-cell index: node i of the tree covers lowbit(i) cells
+    private void resetFreeCells() {
+        for (int i = 1; i < freeTree.length; i++) freeTree[i] = i & -i;
+        freeCount = freeTree.length - 1;
+    }
+
+    // Every sector back to fully free; edge sectors are cut short by the board's edges
+    private void resetSectors() {
+        for (int sy = 0; sy < sectorRows; sy++) {
+            for (int sx = 0; sx < sectorCols; sx++) {
+                sectorFree[sy * sectorCols + sx] = sectorWidth(sx) * sectorHeight(sy);
+            }
+        }
+    }
+
+    private int sectorWidth(int sx) {
+        return Math.min(SECTOR, cols - (sx << SECTOR_SHIFT));
+    }
+
+    private int sectorHeight(int sy) {
+        return Math.min(SECTOR, rows - (sy << SECTOR_SHIFT));
+    }
+
+    private int sectorOf(int idx) {
+        return ((idx / cols) >> SECTOR_SHIFT) * sectorCols + ((idx % cols) >> SECTOR_SHIFT);
     }
 
     // Getter methods: Encapsulation is used here to provide controlled access
@@ -22,10 +109,290 @@ public class Board {
     public int getRows() { return rows; }
     public int getCellSize() { return cellSize; }
 
+    // Composition: Registers a snake with the board so that its moves keep the
+    // occupancy grid up to date. Returns the id the snake is tagged with.
+    public int attach(Snake snake) {
+        int id = nextSnakeId++;
+        snake.attach(this, id);
+        snakes.add(snake);
+        for (int i = 0; i < snake.length(); i++) {
+            occupy(snake.xAt(i), snake.yAt(i), id);
+        }
+        return id;
+    }
+
+    // Package-private: Empties every cell (snake ids stay assigned), e.g. before restoring a checkpoint
+    void clearCells() {
+        Arrays.fill(occupancy, 0);
+        resetFreeCells();
+        resetSectors();
+        dirtyOverflow = true;
+    }
+
+    // Package-private: Re-tags every cell of an attached snake, e.g. after restoring its body
+    void occupyBody(Snake snake) {
+        for (int i = 0; i < snake.length(); i++) {
+            occupy(snake.xAt(i), snake.yAt(i), snake.getId());
+        }
+    }
+
+    // Package-private: Takes an eliminated snake off the board, freeing every cell still
+    // tagged with it. Cells it crashed into keep their owner.
+    void detach(Snake snake) {
+        for (int i = 0; i < snake.length(); i++) {
+            vacate(snake.xAt(i), snake.yAt(i), snake.getId());
+        }
+        snake.eliminate();
+    }
+
+    // Read-only view of the attached snakes, eliminated ones included
+    public List<Snake> getSnakes() {
+        return snakesView;
+    }
+
+    // Copies the occupancy grid (see occupantAt) into dest, which must hold cols * rows cells
+    public void copyOccupancy(int[] dest) {
+        System.arraycopy(occupancy, 0, dest, 0, occupancy.length);
+    }
+
+    // Abstraction: Bounds check shared by the collision and occupancy queries.
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < cols && y < rows;
+    }
+
+    // Information Hiding: Returns the id of the snake covering (x, y), FOOD, or 0 if the cell is free.
+    public int occupantAt(int x, int y) {
+        return inBounds(x, y) ? occupancy[y * cols + x] : 0;
+    }
+
+    // Abstraction: Constant-time safety query used by collision and AI look-ahead.
+    // Food is not an obstacle.
+    public boolean isBlocked(int x, int y) {
+        return !inBounds(x, y) || occupancy[y * cols + x] > 0;
+    }
+
+    // Same query by cell index (y * cols + x), for callers that already work in indices.
+    boolean isBlockedCell(int idx) {
+        return occupancy[idx] > 0;
+    }
+
+    // Number of cells holding neither a snake nor food
+    public int getFreeCellCount() {
+        return freeCount;
+    }
+
+    // Abstraction: Uniformly random empty cell index (y * cols + x) in O(log n), or -1 if the board is full
+    public int randomFreeCell(Random rnd) {
+        return freeCount == 0 ? -1 : nthFreeCell(rnd.nextInt(freeCount));
+    }
+
+    // The k-th empty cell (0-based) in cell-index order, by descending the Fenwick tree
+    private int nthFreeCell(int k) {
+        int pos = 0;
+        for (int step = Integer.highestOneBit(freeTree.length - 1); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < freeTree.length && freeTree[next] <= k) {
+                pos = next;
+                k -= freeTree[next];
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Finds a size x size square of free cells and returns the index (y * cols + x) of its
+     * centre cell, or -1 if none was found. Squares up to a sector wide come from a random
+     * sector that is still entirely free, so the cost depends on the number of sectors, not
+     * cells or snakes; once every sector holds something, random free cells are tried as
+     * centres instead. Used to spawn snakes away from each other.
+     */
+    public int findFreeRegion(int size, Random rnd) {
+        if (size <= SECTOR) {
+            int chosen = -1;
+            int seen = 0;
+            for (int sy = 0; sy < sectorRows; sy++) {
+                int h = sectorHeight(sy);
+                if (h < size) continue;
+                for (int sx = 0; sx < sectorCols; sx++) {
+                    int w = sectorWidth(sx);
+                    // Reservoir sampling: a uniform pick among the candidates in one pass
+                    if (w >= size && sectorFree[sy * sectorCols + sx] == w * h && rnd.nextInt(++seen) == 0) {
+                        chosen = ((sy << SECTOR_SHIFT) + h / 2) * cols + (sx << SECTOR_SHIFT) + w / 2;
+                    }
+                }
+            }
+            if (chosen >= 0) return chosen;
+        }
+        for (int attempt = 0; attempt < REGION_ATTEMPTS && freeCount > 0; attempt++) {
+            int idx = randomFreeCell(rnd);
+            if (isRegionFree(idx % cols - size / 2, idx / cols - size / 2, size)) return idx;
+        }
+        return -1;
+    }
+
+    // True if the size x size square with its top-left corner at (x0, y0) is on the board and free
+    private boolean isRegionFree(int x0, int y0, int size) {
+        if (!inBounds(x0, y0) || !inBounds(x0 + size - 1, y0 + size - 1)) return false;
+        for (int y = y0; y < y0 + size; y++) {
+            for (int x = x0; x < x0 + size; x++) {
+                if (occupancy[y * cols + x] != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    // Package-private: Food claims an empty cell so that no other food spawns on it
+    void placeFood(int idx) {
+        if (occupancy[idx] == 0) removeFree(idx);
+        occupancy[idx] = FOOD;
+        markDirty(idx % cols, idx / cols);
+    }
+
+    // Package-private: Releases a food cell that was not eaten (an eaten one belongs to a snake now)
+    void removeFood(int idx) {
+        if (occupancy[idx] == FOOD) {
+            occupancy[idx] = 0;
+            addFree(idx);
+        }
+        markDirty(idx % cols, idx / cols);
+    }
+
+    // Callers keep the index in step with the grid: a cell leaves when it stops being 0
+    // and joins when it becomes 0 again
+    private void removeFree(int idx) {
+        for (int i = idx + 1; i < freeTree.length; i += i & -i) freeTree[i]--;
+        freeCount--;
+        sectorFree[sectorOf(idx)]--;
+    }
+
+    private void addFree(int idx) {
+        for (int i = idx + 1; i < freeTree.length; i += i & -i) freeTree[i]++;
+        freeCount++;
+        sectorFree[sectorOf(idx)]++;
+    }
+
+    // Composition: The board's reusable path finder, shared by every AI on this board.
+    public PathFinder getPathFinder() {
+        if (pathFinder == null) pathFinder = new PathFinder(this);
+        return pathFinder;
+    }
+
+    // Marks (x, y) as covered by the given snake. Returns false if the cell was
+    // already taken, which is how a snake learns it ran into a body; the cell then keeps
+    // its owner, so taking the crashed snake off the board leaves the other body intact.
+    boolean occupy(int x, int y, int snakeId) {
+        if (!inBounds(x, y)) return true;
+        int idx = y * cols + x;
+        int previous = occupancy[idx];
+        boolean free = previous <= 0;
+        if (free) occupancy[idx] = snakeId;
+        if (previous == 0) removeFree(idx);
+        markDirty(x, y);
+        return free;
+    }
+
+    // Clears (x, y) if it is still tagged with the given snake.
+    void vacate(int x, int y, int snakeId) {
+        if (!inBounds(x, y)) return;
+        int idx = y * cols + x;
+        if (occupancy[idx] == snakeId) {
+            occupancy[idx] = 0;
+            addFree(idx);
+        }
+        markDirty(x, y);
+    }
+
+    // Enables or disables the dirty-cell log; disabled boards pay a single branch per change
+    public void setDirtyTracking(boolean enabled) {
+        trackDirty = enabled;
+        if (enabled && dirtyMark == null) dirtyMark = new int[cols * rows];
+        takeDirtyCells();
+    }
+
+    // Records that (x, y) must be redrawn; each cell is logged at most once per batch
+    void markDirty(int x, int y) {
+        if (!trackDirty || !inBounds(x, y)) return;
+        int idx = y * cols + x;
+        if (dirtyMark[idx] == dirtyGeneration) return;
+        dirtyMark[idx] = dirtyGeneration;
+        if (dirtyCount == MAX_DIRTY_CELLS) {
+            dirtyOverflow = true;
+            return;
+        }
+        if (dirtyCount == dirtyCells.length) {
+            dirtyCells = Arrays.copyOf(dirtyCells, dirtyCells.length * 2);
+        }
+        dirtyCells[dirtyCount++] = idx;
+    }
+
+    /**
+     * Returns the cell indices (y * cols + x) changed since the previous call and starts a
+     * new batch. Returns null when tracking is off or too many cells changed, meaning the
+     * caller should redraw everything.
+     */
+    public int[] takeDirtyCells() {
+        int[] out = trackDirty && !dirtyOverflow ? Arrays.copyOf(dirtyCells, dirtyCount) : null;
+        dirtyCount = 0;
+        dirtyOverflow = false;
+        if (dirtyMark != null && ++dirtyGeneration == 0) {
+            Arrays.fill(dirtyMark, 0);
+            dirtyGeneration = 1;
+        }
+        return out;
+    }
+
     // Polymorphism: The `draw` method uses the `Graphics` object, which is part of
     // Java's AWT library. The actual implementation of `Graphics` is determined
     // at runtime, demonstrating polymorphism.
+    // The grid never changes, so it is rendered once into an image compatible with the
+    // target screen and blitted on every frame.
     public void draw(Graphics g) {
+        draw(g, null);
+    }
+
+    // Polymorphism (Overloading): With a background color the cached layer is opaque,
+    // which makes the per-frame blit a plain copy instead of an alpha blend.
+    public void draw(Graphics g, Color background) {
+        GraphicsConfiguration gc = g instanceof Graphics2D g2 ? g2.getDeviceConfiguration() : null;
+        if (gridLayer == null || gc != gridConfig || !Objects.equals(background, gridBackground)) {
+            gridLayer = renderGrid(gc, background);
+            gridConfig = gc;
+            gridBackground = background;
+        }
+        if (gridLayer != null) {
+            g.drawImage(gridLayer, 0, 0, null);
+        } else {
+            if (background != null) {
+                g.setColor(background);
+                g.fillRect(0, 0, cols * cellSize + 1, rows * cellSize + 1);
+            }
+            drawGrid(g);
+        }
+    }
+
+    // Abstraction: Builds the cached grid layer, or returns null if it would be too large
+    private BufferedImage renderGrid(GraphicsConfiguration gc, Color background) {
+        int w = cols * cellSize + 1;
+        int h = rows * cellSize + 1;
+        if ((long) w * h > MAX_CACHED_GRID_PIXELS) return null;
+        int transparency = background != null ? Transparency.OPAQUE : Transparency.BITMASK;
+        BufferedImage img = gc != null
+            ? gc.createCompatibleImage(w, h, transparency)
+            : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics ig = img.getGraphics();
+        try {
+            if (background != null) {
+                ig.setColor(background);
+                ig.fillRect(0, 0, w, h);
+            }
+            drawGrid(ig);
+        } finally {
+            ig.dispose();
+        }
+        return img;
+    }
+
+    private void drawGrid(Graphics g) {
         g.setColor(Color.DARK_GRAY);
         for (int i = 0; i <= cols; i++) {
             g.drawLine(i * cellSize, 0, i * cellSize, rows * cellSize);
@@ -36,28 +403,22 @@ public class Board {
     }
 
     // Abstraction: The `checkCollision` method hides the complexity of checking
-    // for collisions (wall and self-collision) and provides a simple interface
-    // for the caller.
+    // for collisions (wall, self and other snakes) and provides a simple interface
+    // for the caller. Body hits are recorded by the occupancy grid as the snake moves, so
+    // the snake must have been attached first (GameState.addPlayer does that).
     public boolean checkCollision(Snake snake) {
-        Segment head = snake.getBody().peekFirst();
-        int x = head.getPosition().x;
-        int y = head.getPosition().y;
+        if (snake.getBoard() != this) throw new IllegalStateException("Snake is not attached to this board");
         // Wall collision
-        if (x < 0 || y < 0 || x >= cols || y >= rows) return true;
-        // Self-collision
-        int count = 0;
-        for (Segment s : snake.getBody()) {
-            if (s.getPosition().equals(head.getPosition())) count++;
-            if (count > 1) return true;
-        }
-        return false;
+        if (!inBounds(snake.headX(), snake.headY())) return true;
+        // Self- and inter-snake collision
+        return snake.hasCrashed();
     }
 
     // Abstraction: The `checkFood` method hides the logic of checking if the snake
     // has eaten the food and growing the snake, providing a simple interface.
     public boolean checkFood(Snake snake, Food food) {
-        Segment head = snake.getBody().peekFirst();
-        if (head.getPosition().equals(food.getLocation())) {
+        Point location = food.getLocation();
+        if (snake.headX() == location.x && snake.headY() == location.y) {
             snake.grow(); // Example of interaction between objects (Board, Snake, and Food).
             return true;
         }
@@ -6,18 +6,64 @@ import java.awt.Point;
 import java.util.Random;
 
 public class Food {
+    // Location used when the board has no free cell left to spawn on
+    private static final Point NOWHERE = new Point(-1, -1);
+
     private Point location;
     private final int cols, rows;
-    private final Random rnd = new Random();
+    private final Random rnd;
+    // Optional: the board whose free-cell index food spawns from and whose cells it claims
+    private final Board board;
 
     public Food(int cols, int rows) {
+        this(cols, rows, new Random());
+    }
+
+    // Overloaded constructor: a seeded Random makes food placement reproducible
+    public Food(int cols, int rows, Random rnd) {
+        this(null, cols, rows, rnd);
+    }
+
+    // Overloaded constructor: food on a board only spawns on empty cells and
+    // reports its moves as dirty cells
+    public Food(Board board, Random rnd) {
+        this(board, board.getCols(), board.getRows(), rnd);
+    }
+
+    private Food(Board board, int cols, int rows, Random rnd) {
+        this.board = board;
         this.cols = cols;
         this.rows = rows;
+        this.rnd = rnd;
         respawn();
     }
 
+    // Without a board the cell is picked blindly; with one, uniformly among free cells in O(log n)
     public void respawn() {
-        location = new Point(rnd.nextInt(cols), rnd.nextInt(rows));
+        if (board == null) {
+            location = new Point(rnd.nextInt(cols), rnd.nextInt(rows));
+            return;
+        }
+        if (location != null && location != NOWHERE) {
+            board.removeFood(location.y * cols + location.x);
+        }
+        int cell = board.randomFreeCell(rnd);
+        if (cell < 0) {
+            location = NOWHERE;
+            return;
+        }
+        board.placeFood(cell);
+        location = new Point(cell % cols, cell / cols);
+    }
+
+    // Package-private: Puts the food back on a known cell, e.g. from a checkpoint
+    void restore(int x, int y) {
+        if (board == null || !board.inBounds(x, y)) {
+            location = board == null ? new Point(x, y) : NOWHERE;
+            return;
+        }
+        board.placeFood(y * cols + x);
+        location = new Point(x, y);
     }
 
     public Point getLocation() {
@@ -25,9 +71,12 @@ public class Food {
     }
 
     public void draw(Graphics g, int cellSize) {
+        draw(g, cellSize, location.x, location.y);
+    }
+
+    // Polymorphism (Overloading): Draws food at a given cell, e.g. from a render snapshot
+    public static void draw(Graphics g, int cellSize, int x, int y) {
         g.setColor(Color.RED);
-        g.fillOval(location.x * cellSize, location.y * cellSize,
-                   cellSize, cellSize);
+        g.fillOval(x * cellSize, y * cellSize, cellSize, cellSize);
     }
 }
-
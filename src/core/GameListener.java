@@ -0,0 +1,21 @@
+package core;
+
+import player.Player;
+
+/**
+ * GameListener receives game events from a GameState, demonstrating abstraction and
+ * loose coupling: the engine reports what happened, the listener decides how to present it
+ * (a Swing dialog, a score file, a batch report, ...).
+ */
+@FunctionalInterface
+public interface GameListener {
+    // Abstraction: Called once when a GameMode ends the game, with the player that crashed
+    void onGameOver(GameState state, Player loser);
+
+    // Extensibility: Called when a multi-player mode takes a crashed snake off the board
+    // while the game goes on; no-op by default
+    default void onPlayerEliminated(GameState state, Player player) {}
+
+    // Extensibility: Called on the simulating thread after every tick; no-op by default
+    default void onTick(GameState state) {}
+}
@@ -0,0 +1,137 @@
+package core;
+
+import util.LatencyHistogram;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * GameLoop drives a GameState at a fixed timestep, demonstrating encapsulation of the
+ * timing policy and separation from rendering. Elapsed System.nanoTime() is collected
+ * in an accumulator and consumed in whole ticks, so the simulation rate does not drift
+ * with update or paint cost. When the loop falls behind it catches up by running up to
+ * maxCatchUpSteps ticks back to back and drops whatever is still owed after that.
+ */
+public class GameLoop implements Runnable {
+    // Ticks run back to back at most before the remaining backlog is dropped
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+    // Encapsulation: Timing configuration
+    private final GameState state;
+    private final long stepNanos;
+    private final int maxCatchUpSteps;
+    // Called on the loop thread after each batch of ticks, e.g. to request a repaint
+    private final Runnable onTicks;
+
+    private volatile boolean running;
+    private volatile boolean paused;
+    private final Object pauseLock = new Object();
+    private volatile Thread thread;
+    // Accumulated time not yet consumed by a tick, for render interpolation
+    private volatile long accumulated;
+
+    // Measurements: how late each tick started relative to its slot, and how often we fell behind
+    private final LatencyHistogram jitter = new LatencyHistogram();
+    private volatile long overruns;
+    private volatile long droppedSteps;
+
+    public GameLoop(GameState state, Runnable onTicks) {
+        this(state, state.getGameMode().getTickRate(), DEFAULT_MAX_CATCH_UP_STEPS, onTicks);
+    }
+
+    // Overloaded constructor: explicit tick rate (ticks per second) and catch-up limit
+    public GameLoop(GameState state, int tickRate, int maxCatchUpSteps, Runnable onTicks) {
+        if (tickRate <= 0) throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        this.state = state;
+        this.stepNanos = 1_000_000_000L / tickRate;
+        this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+        this.onTicks = onTicks;
+    }
+
+    // Game loop: runs until stop() is called or the game ends
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        running = true;
+        long previous = System.nanoTime();
+        long acc = 0;
+        while (running && state.isRunning()) {
+            if (paused) {
+                if (!awaitResume()) break;
+                // Time spent paused is not owed to the simulation
+                previous = System.nanoTime();
+                acc = 0;
+            }
+            long now = System.nanoTime();
+            acc += now - previous;
+            previous = now;
+
+            int steps = 0;
+            while (acc >= stepNanos && steps < maxCatchUpSteps && state.isRunning()) {
+                jitter.record(acc - stepNanos);
+                state.step();
+                acc -= stepNanos;
+                steps++;
+            }
+            if (acc >= stepNanos) {
+                long behind = acc / stepNanos;
+                droppedSteps += behind;
+                overruns++;
+                acc -= behind * stepNanos;
+            }
+            accumulated = acc;
+            if (steps > 0 && onTicks != null) onTicks.run();
+
+            long wait = stepNanos - acc;
+            if (wait > 0) LockSupport.parkNanos(this, wait);
+        }
+        running = false;
+    }
+
+    // Exception Handling: Waits while paused; an interrupt means shut down
+    private boolean awaitResume() {
+        synchronized (pauseLock) {
+            while (paused && running) {
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return running;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    // Stops the loop after the current tick and wakes it if it is sleeping or paused
+    public void stop() {
+        running = false;
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
+        }
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    public boolean isRunning() { return running; }
+    public boolean isPaused() { return paused; }
+    public long getStepNanos() { return stepNanos; }
+
+    // Fraction (0..1) of the next tick that has already elapsed, for render interpolation
+    public double getAlpha() {
+        return Math.min(1.0, (double) accumulated / stepNanos);
+    }
+
+    public LatencyHistogram getJitter() { return jitter; }
+    public long getOverruns() { return overruns; }
+    public long getDroppedSteps() { return droppedSteps; }
+}
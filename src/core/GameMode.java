@@ -1,17 +1,26 @@
 package core;
 
-import app.SnakeGame;
 import player.Player;
 
 /**
  * GameMode interface defines the contract for game modes, demonstrating abstraction
- * and extensibility.
+ * and extensibility. Modes operate on the headless GameState, never on the UI.
  */
 public interface GameMode {
     // Abstraction: Defines initialization behavior
-    void initialize(SnakeGame game);
+    void initialize(GameState state);
     // Abstraction: Defines game update logic
-    void update(SnakeGame game);
+    void update(GameState state);
     // Abstraction: Defines game-over handling
-    void handleGameOver(SnakeGame game, Player loser);
+    void handleGameOver(GameState state, Player loser);
+
+    // Extensibility: Simulation ticks per second; modes may run faster or slower
+    default int getTickRate() {
+        return 10;
+    }
+
+    // Extensibility: How many food items are on the board at once
+    default int getFoodCount() {
+        return 1;
+    }
 }
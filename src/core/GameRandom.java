@@ -0,0 +1,57 @@
+package core;
+
+import java.util.Random;
+
+/**
+ * GameRandom is the single source of randomness for a game. It is a java.util.Random,
+ * so it plugs into existing APIs, but its whole state is one long produced by the
+ * SplitMix64 generator, which can be read and restored. Together with the recorded
+ * inputs, the seed is therefore enough to re-simulate a game exactly, and the state is
+ * enough to resume one from a checkpoint.
+ * Demonstrates inheritance (overriding next()) and encapsulation of the generator state.
+ * Only the int/long/boolean/float/double draws are reproducible from getState(); the
+ * cached second value of nextGaussian() is not part of it.
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private long state;
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    // Random's constructor calls this, so it also initializes our own fields
+    @Override
+    public synchronized void setSeed(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    // Inheritance: Every Random method draws its bits from here
+    @Override
+    protected int next(int bits) {
+        return (int) (nextRaw() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        return nextRaw();
+    }
+
+    private long nextRaw() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // The seed the game started from
+    public long getSeed() { return seed; }
+
+    // Encapsulation: Current generator position, for checkpoints
+    public long getState() { return state; }
+    public void setState(long state) { this.state = state; }
+}
@@ -0,0 +1,127 @@
+package core;
+
+import enums.Direction;
+import player.Player;
+import util.Metrics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GameState is the headless simulation engine: it owns the board, food and players and
+ * advances them one tick at a time through a GameMode. It has no Swing dependency, so a
+ * game can run on a server with -Djava.awt.headless=true.
+ * Demonstrates encapsulation, composition, and abstraction.
+ */
+public class GameState {
+    // Encapsulation: Private fields with controlled access
+    private final Board board;
+    private final GameMode gameMode;
+    // The game's single seedable source of randomness; seed plus inputs reproduce the game
+    private final GameRandom random;
+    private final List<Food> foods = new ArrayList<>();
+    private final List<Food> foodsView = Collections.unmodifiableList(foods);
+    // Parametric Polymorphism: Generic List<Player> for type-safe player collection
+    private final List<Player> players = new ArrayList<>();
+    private final List<Player> playersView = Collections.unmodifiableList(players);
+    private final List<GameListener> listeners = new ArrayList<>();
+    // Written by the GameMode on the loop thread, read by renderers and hosts
+    private volatile boolean running = true;
+    private long tick;
+
+    // Constructor: Composition of the pieces every game needs
+    public GameState(Board board, Food food, GameMode gameMode) {
+        this(board, gameMode, new GameRandom(System.nanoTime()), food);
+    }
+
+    // Overloaded constructor: the state spawns its own first food from the given generator
+    public GameState(Board board, GameMode gameMode, GameRandom random) {
+        this(board, gameMode, random, null);
+    }
+
+    private GameState(Board board, GameMode gameMode, GameRandom random, Food food) {
+        this.board = board;
+        this.gameMode = gameMode;
+        this.random = random;
+        foods.add(food != null ? food : new Food(board, random));
+    }
+
+    // Composition: Adds a player and tags its snake in the board's occupancy grid
+    public void addPlayer(Player player) {
+        players.add(player);
+        int id = board.attach(player.getSnake());
+        // Food that happened to spawn under the new snake moves somewhere free
+        for (Food f : foods) {
+            if (board.occupantAt(f.getLocation().x, f.getLocation().y) == id) f.respawn();
+        }
+    }
+
+    // Composition: Additional food items, e.g. for modes with several on the board at once
+    public void addFood(Food food) {
+        foods.add(food);
+    }
+
+    // Spawns one more food item on a free cell using the state's generator
+    public Food spawnFood() {
+        Food food = new Food(board, random);
+        foods.add(food);
+        return food;
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Advances the game by one tick. inputs[i], when present and non-null, steers player i
+     * before the GameMode moves everyone; players without an input keep their heading.
+     */
+    public void step(Direction... inputs) {
+        if (!running) return;
+        for (int i = 0; i < inputs.length && i < players.size(); i++) {
+            if (inputs[i] != null) players.get(i).steer(inputs[i]);
+        }
+        long tickStart = Metrics.start();
+        long allocatedBefore = Metrics.threadAllocatedBytes();
+        // Extensibility: Delegates to GameMode for game logic
+        gameMode.update(this);
+        Metrics.stop(Metrics.Probe.UPDATE, tickStart);
+        tick++;
+        for (GameListener l : listeners) {
+            l.onTick(this);
+        }
+        Metrics.addAllocated(allocatedBefore);
+        Metrics.stop(Metrics.Probe.TICK, tickStart);
+    }
+
+    // Abstraction: GameModes report the end of the game here instead of talking to the UI
+    public void fireGameOver(Player loser) {
+        for (GameListener l : listeners) {
+            l.onGameOver(this, loser);
+        }
+    }
+
+    // Reported by modes that keep playing after a snake is eliminated
+    public void firePlayerEliminated(Player player) {
+        for (GameListener l : listeners) {
+            l.onPlayerEliminated(this, player);
+        }
+    }
+
+    // Package-private: Used when a state is restored from a checkpoint
+    void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    // Encapsulation: Getters for GameMode and renderer access
+    public Board getBoard() { return board; }
+    // The first food item; modes with a single food only ever need this one
+    public Food getFood() { return foods.get(0); }
+    public List<Food> getFoods() { return foodsView; }
+    public GameRandom getRandom() { return random; }
+    public GameMode getGameMode() { return gameMode; }
+    public List<Player> getPlayers() { return playersView; }
+    public long getTick() { return tick; }
+    public boolean isRunning() { return running; }
+    public void setRunning(boolean running) { this.running = running; }
+}
@@ -0,0 +1,165 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * PathFinder runs breadth-first searches over a Board's occupancy grid.
+ * Demonstrates encapsulation: the open set, visited marks, parents and depths are
+ * preallocated once per board and reused on every search, so AI look-ahead does not
+ * allocate on the tick path. Visited marks use a generation counter instead of being
+ * cleared between searches.
+ * Not thread-safe: one instance serves the single thread that advances its board.
+ */
+public class PathFinder {
+    // Returned by search() when the target cannot be reached within the limits
+    public static final int NOT_FOUND = -1;
+    // Pass as deadline to search without a wall-clock limit
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    // How many expansions happen between two System.nanoTime() checks
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+
+    // Encapsulation: Reusable search buffers, one slot per board cell
+    private final Board board;
+    private final int cols, rows;
+    private final int[] queue;
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] visited;
+    private int generation;
+    private int lastExpansions;
+    private boolean lastTimedOut;
+
+    // Package-private: obtained through Board.getPathFinder()
+    PathFinder(Board board) {
+        this.board = board;
+        this.cols = board.getCols();
+        this.rows = board.getRows();
+        int cells = cols * rows;
+        this.queue = new int[cells];
+        this.parent = new int[cells];
+        this.depth = new int[cells];
+        this.visited = new int[cells];
+    }
+
+    /**
+     * Breadth-first search from (sx, sy) to (tx, ty) through free cells. The target itself
+     * may be occupied (e.g. a tail that will have moved by the time we get there).
+     *
+     * @return the cell index (y * cols + x) of the first step of a shortest path, the start
+     *         cell if start and target coincide, or NOT_FOUND if the target is farther than
+     *         maxDepth steps or more than maxExpansions cells would have to be expanded
+     */
+    public int search(int sx, int sy, int tx, int ty, int maxDepth, int maxExpansions) {
+        return search(sx, sy, tx, ty, maxDepth, maxExpansions, NO_DEADLINE);
+    }
+
+    // Overloaded: also gives up (returning NOT_FOUND) once System.nanoTime() passes deadline
+    public int search(int sx, int sy, int tx, int ty, int maxDepth, int maxExpansions,
+                      long deadline) {
+        lastExpansions = 0;
+        lastTimedOut = false;
+        if (!board.inBounds(sx, sy) || !board.inBounds(tx, ty)) return NOT_FOUND;
+        int start = sy * cols + sx;
+        int target = ty * cols + tx;
+        if (start == target) return start;
+
+        int gen = nextGeneration();
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        visited[start] = gen;
+        parent[start] = -1;
+        depth[start] = 0;
+
+        while (head < tail) {
+            int cur = queue[head++];
+            if (++lastExpansions > maxExpansions) return NOT_FOUND;
+            if (pastDeadline(deadline)) return NOT_FOUND;
+            if (depth[cur] >= maxDepth) continue;
+            int x = cur % cols, y = cur / cols;
+            // Neighbours in UP, DOWN, LEFT, RIGHT order
+            for (int k = 0; k < 4; k++) {
+                int nx = x + (k == 2 ? -1 : k == 3 ? 1 : 0);
+                int ny = y + (k == 0 ? -1 : k == 1 ? 1 : 0);
+                if (nx < 0 || ny < 0 || nx >= cols || ny >= rows) continue;
+                int n = ny * cols + nx;
+                if (visited[n] == gen) continue;
+                visited[n] = gen;
+                parent[n] = cur;
+                if (n == target) return firstStep(n, start);
+                if (board.isBlockedCell(n)) continue;
+                depth[n] = depth[cur] + 1;
+                queue[tail++] = n;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    // Convenience: true if (tx, ty) can be reached from (sx, sy) within the limits
+    public boolean canReach(int sx, int sy, int tx, int ty, int maxDepth, int maxExpansions) {
+        return search(sx, sy, tx, ty, maxDepth, maxExpansions) != NOT_FOUND;
+    }
+
+    /**
+     * Counts the free cells reachable from (sx, sy), which is treated as free itself,
+     * stopping once limit cells have been counted or the deadline has passed.
+     */
+    public int floodCount(int sx, int sy, int limit, long deadline) {
+        lastExpansions = 0;
+        lastTimedOut = false;
+        if (!board.inBounds(sx, sy)) return 0;
+        int gen = nextGeneration();
+        int start = sy * cols + sx;
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        visited[start] = gen;
+        while (head < tail && tail < limit) {
+            int cur = queue[head++];
+            lastExpansions++;
+            if (pastDeadline(deadline)) break;
+            int x = cur % cols, y = cur / cols;
+            for (int k = 0; k < 4; k++) {
+                int nx = x + (k == 2 ? -1 : k == 3 ? 1 : 0);
+                int ny = y + (k == 0 ? -1 : k == 1 ? 1 : 0);
+                if (nx < 0 || ny < 0 || nx >= cols || ny >= rows) continue;
+                int n = ny * cols + nx;
+                if (visited[n] == gen || board.isBlockedCell(n)) continue;
+                visited[n] = gen;
+                queue[tail++] = n;
+            }
+        }
+        return Math.min(tail, limit);
+    }
+
+    // Number of cells expanded by the most recent search, for budgeting and profiling
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    // True if the most recent search stopped because its deadline passed
+    public boolean lastTimedOut() {
+        return lastTimedOut;
+    }
+
+    // Reads the clock only every CLOCK_CHECK_INTERVAL expansions to keep searches cheap
+    private boolean pastDeadline(long deadline) {
+        if (deadline == NO_DEADLINE || lastExpansions % CLOCK_CHECK_INTERVAL != 0) return false;
+        lastTimedOut = System.nanoTime() - deadline > 0;
+        return lastTimedOut;
+    }
+
+    // Walks parent links back from the target to the cell adjacent to the start
+    private int firstStep(int cell, int start) {
+        while (parent[cell] != start) {
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    private int nextGeneration() {
+        if (++generation == 0) {
+            Arrays.fill(visited, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+}
@@ -0,0 +1,108 @@
+package core;
+
+import player.Player;
+import java.awt.Color;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RenderSnapshot is an immutable copy of everything a renderer needs from one tick.
+ * Demonstrates immutability as a thread-safety tool: the game thread captures a snapshot
+ * after each tick and publishes it, and the paint thread only ever reads snapshots, so it
+ * never iterates a snake body while move() is rewriting it.
+ */
+public final class RenderSnapshot {
+    /** One player's view: body cells are packed with Snake.pack(), head first. */
+    public record PlayerView(String name, Color color, int score, int[] cells) {}
+
+    // What getDirtyOwner reports for a cell that is not under a player's snake
+    public static final int EMPTY = -1;
+    public static final int FOOD = -2;
+
+    private final long tick;
+    private final long capturedAt;
+    private final int[] foodCells;
+    private final PlayerView[] players;
+    private final int[] dirtyCells;
+    // Per dirty cell: the seat covering it, EMPTY or FOOD
+    private final int[] dirtyOwners;
+
+    private RenderSnapshot(long tick, long capturedAt, int[] foodCells,
+                           PlayerView[] players, int[] dirtyCells, int[] dirtyOwners) {
+        this.tick = tick;
+        this.capturedAt = capturedAt;
+        this.foodCells = foodCells;
+        this.players = players;
+        this.dirtyCells = dirtyCells;
+        this.dirtyOwners = dirtyOwners;
+    }
+
+    // Abstraction: Copies the state; must be called on the thread that advances it
+    public static RenderSnapshot capture(GameState state) {
+        List<Player> list = state.getPlayers();
+        PlayerView[] views = new PlayerView[list.size()];
+        for (int i = 0; i < views.length; i++) {
+            Player p = list.get(i);
+            Snake s = p.getSnake();
+            // An eliminated snake is no longer on the board, so it has nothing to draw
+            int[] cells = new int[s.isEliminated() ? 0 : s.length()];
+            for (int j = 0; j < cells.length; j++) cells[j] = s.cellAt(j);
+            views[i] = new PlayerView(p.getName(), p.getColor(), p.getScore(), cells);
+        }
+        List<Food> foods = state.getFoods();
+        int[] foodCells = new int[foods.size()];
+        for (int i = 0; i < foodCells.length; i++) {
+            Point food = foods.get(i).getLocation();
+            foodCells[i] = Snake.pack(food.x, food.y);
+        }
+        int[] dirty = state.getBoard().takeDirtyCells();
+        return new RenderSnapshot(state.getTick(), System.nanoTime(), foodCells, views, dirty,
+                                  dirty == null ? null : owners(state.getBoard(), list, dirty));
+    }
+
+    // A dirty cell can be any part of a body (e.g. one another snake crashed into), so the
+    // renderer is told whose it is rather than left to guess from the heads
+    private static int[] owners(Board board, List<Player> players, int[] dirty) {
+        int maxId = 0;
+        for (Player p : players) maxId = Math.max(maxId, p.getSnake().getId());
+        int[] seatOf = new int[maxId + 1];
+        Arrays.fill(seatOf, EMPTY);
+        for (int seat = 0; seat < players.size(); seat++) {
+            Snake s = players.get(seat).getSnake();
+            if (!s.isEliminated()) seatOf[s.getId()] = seat;
+        }
+        int[] owners = new int[dirty.length];
+        int cols = board.getCols();
+        for (int i = 0; i < dirty.length; i++) {
+            int occupant = board.occupantAt(dirty[i] % cols, dirty[i] / cols);
+            owners[i] = occupant == Board.FOOD ? FOOD
+                      : occupant > 0 && occupant <= maxId ? seatOf[occupant] : EMPTY;
+        }
+        return owners;
+    }
+
+    // Polymorphism (Overloading): A snapshot of a game simulated elsewhere, e.g. on a server
+    public static RenderSnapshot of(long tick, long capturedAt, int[] foodCells, PlayerView[] players) {
+        return new RenderSnapshot(tick, capturedAt, foodCells.clone(), players.clone(), null, null);
+    }
+
+    public long getTick() { return tick; }
+    // System.nanoTime() at capture, used to work out how far into the next tick we are
+    public long getCapturedAt() { return capturedAt; }
+    // Food cells; a food item with nowhere left to spawn reports (-1, -1)
+    public int getFoodCount() { return foodCells.length; }
+    public int getFoodX(int i) { return Snake.unpackX(foodCells[i]); }
+    public int getFoodY(int i) { return Snake.unpackY(foodCells[i]); }
+    public int getPlayerCount() { return players.length; }
+    public PlayerView getPlayer(int i) { return players[i]; }
+
+    /**
+     * Cells (y * cols + x) that changed since the previous snapshot. The count is -1 when
+     * unknown (dirty tracking off on the board, or too many changes): redraw everything.
+     */
+    public int getDirtyCount() { return dirtyCells == null ? -1 : dirtyCells.length; }
+    public int getDirtyCell(int i) { return dirtyCells[i]; }
+    // The seat whose snake covers dirty cell i, or EMPTY or FOOD
+    public int getDirtyOwner(int i) { return dirtyOwners[i]; }
+}
@@ -7,21 +7,51 @@ import java.util.Deque;
 import enums.Direction;
 
 public class Snake {
+    private static final int INITIAL_CAPACITY = 16;
+
     // Encapsulation: The fields are private, ensuring that the internal state of the Snake class
     // can only be accessed and modified through public methods.
-    private final Deque<Segment> body = new ArrayDeque<>();
+    // The body is a growable ring buffer of packed cells (see pack()), head first, so a
+    // move only rewrites two ints instead of allocating a Segment and a Point.
+    private int[] cells = new int[INITIAL_CAPACITY];
+    private int head;
+    private int length;
     private Direction direction;
     private boolean grow;
-    private final Color color;      
+    private final Color color;
+    // Composition: The board whose occupancy grid this snake keeps up to date, and its tag there.
+    private Board board;
+    private int id;
+    private boolean crashed;
+    // Set once a multi-player mode has taken the snake off the board
+    private boolean eliminated;
+    // Lazily built compatibility view for getBody(), rebuilt only after the body changes.
+    private Deque<Segment> bodyView;
+    private boolean bodyViewStale = true;
 
     // Constructor: Demonstrates the concept of initialization and encapsulation.
     // The constructor initializes the snake's starting position, direction, and color.
     public Snake(int startX, int startY, Color color) {
         this.direction = Direction.RIGHT;
-        this.body.add(new Segment(startX, startY));
+        this.cells[0] = pack(startX, startY);
+        this.length = 1;
         this.color = color;
-    } 
-    
+    }
+
+    // Abstraction: A cell is packed into one int, x in the high half and y in the low half.
+    // Both halves are signed so that off-board heads (-1) survive the round trip.
+    public static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    public static int unpackX(int cell) {
+        return cell >> 16;
+    }
+
+    public static int unpackY(int cell) {
+        return (short) cell;
+    }
+
     // Getter for direction: Encapsulation is used here to provide controlled access to the direction field.
     public Direction getDirection() {
         return direction;
@@ -35,20 +65,65 @@ public class Snake {
     // Method to move the snake: Demonstrates behavior encapsulated within the class.
     // The logic for moving the snake is hidden from external classes.
     public void move() {
-        Segment head = body.peekFirst();
-        int x = head.getPosition().x;
-        int y = head.getPosition().y;
+        int x = headX();
+        int y = headY();
         switch (direction) {
             case UP:    y--; break;
             case DOWN:  y++; break;
             case LEFT:  x--; break;
             case RIGHT: x++; break;
         }
-        body.addFirst(new Segment(x, y));
+        // The tail leaves its cell before the head arrives, so chasing your own tail is legal.
         if (!grow) {
-            body.removeLast();
+            int tail = cellAt(length - 1);
+            length--;
+            if (board != null) board.vacate(unpackX(tail), unpackY(tail), id);
+        } else if (length == cells.length) {
+            expand();
         }
         grow = false;
+        head = (head - 1) & (cells.length - 1);
+        cells[head] = pack(x, y);
+        length++;
+        bodyViewStale = true;
+        if (board != null && !board.occupy(x, y, id)) {
+            crashed = true;
+        }
+    }
+
+    // Doubles the ring buffer, unrolling it so the head sits at index 0 again.
+    private void expand() {
+        int[] bigger = new int[cells.length * 2];
+        for (int i = 0; i < length; i++) {
+            bigger[i] = cellAt(i);
+        }
+        cells = bigger;
+        head = 0;
+    }
+
+    // Package-private: Called by Board.attach to link the snake to the occupancy grid.
+    void attach(Board board, int id) {
+        this.board = board;
+        this.id = id;
+    }
+
+    public Board getBoard() { return board; }
+    public int getId() { return id; }
+
+    // Encapsulation: True once the head has moved onto a cell covered by any snake body.
+    public boolean hasCrashed() {
+        return crashed;
+    }
+
+    // True once the snake has been taken off the board; its last body is kept for inspection
+    public boolean isEliminated() {
+        return eliminated;
+    }
+
+    // Package-private: Called by Board.detach
+    void eliminate() {
+        eliminated = true;
+        crashed = true;
     }
 
     // Method to grow the snake: Encapsulation is used to modify the internal state of the snake.
@@ -56,21 +131,69 @@ public class Snake {
         this.grow = true;
     }
 
-    // Getter for the body: Encapsulation is used to provide controlled access to the snake's body.
+    // True if the next move keeps the tail in place
+    public boolean isGrowing() {
+        return grow;
+    }
+
+    // Package-private: Replaces the whole body and movement state, e.g. from a checkpoint.
+    // The caller is responsible for the board's occupancy grid.
+    void restore(int[] packedCells, Direction direction, boolean grow, boolean crashed) {
+        restore(packedCells, direction, grow, crashed, false);
+    }
+
+    // Overloaded: also restores whether the snake had been eliminated
+    void restore(int[] packedCells, Direction direction, boolean grow, boolean crashed, boolean eliminated) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < packedCells.length) capacity *= 2;
+        this.cells = new int[capacity];
+        System.arraycopy(packedCells, 0, this.cells, 0, packedCells.length);
+        this.head = 0;
+        this.length = packedCells.length;
+        this.direction = direction;
+        this.grow = grow;
+        this.crashed = crashed;
+        this.eliminated = eliminated;
+        this.bodyViewStale = true;
+    }
+
+    // Allocation-free body access: index 0 is the head, length() - 1 the tail.
+    public int length() { return length; }
+
+    public int cellAt(int i) {
+        return cells[(head + i) & (cells.length - 1)];
+    }
+
+    public int xAt(int i) { return unpackX(cellAt(i)); }
+    public int yAt(int i) { return unpackY(cellAt(i)); }
+    public int headX() { return unpackX(cells[head]); }
+    public int headY() { return unpackY(cells[head]); }
+
+    // Getter for the body: Compatibility view built on demand from the ring buffer.
+    // Prefer length()/cellAt() on hot paths; this allocates whenever the snake has moved.
     public Deque<Segment> getBody() {
-        return body;
+        if (bodyViewStale) {
+            Deque<Segment> view = new ArrayDeque<>(length);
+            for (int i = 0; i < length; i++) {
+                view.addLast(new Segment(xAt(i), yAt(i)));
+            }
+            bodyView = view;
+            bodyViewStale = false;
+        }
+        return bodyView;
     }
 
-    /** 
+    /**
      * Draws the snake in its own color.
      * Demonstrates abstraction: The details of how the snake is drawn are hidden from the caller.
      */
     public void draw(Graphics g, int cellSize) {
         g.setColor(color);
-        for (Segment s : body) {
+        for (int i = 0; i < length; i++) {
+            int cell = cellAt(i);
             g.fillRect(
-                s.getPosition().x * cellSize,
-                s.getPosition().y * cellSize,
+                unpackX(cell) * cellSize,
+                unpackY(cell) * cellSize,
                 cellSize, cellSize
             );
         }
@@ -1,50 +1,80 @@
 package core;
 
-import app.MainMenu;
-import app.SnakeGame;
+import player.AIPlayer;
 import player.Player;
-import util.ScoreManager;
-import javax.swing.*;
+import util.Metrics;
 
 /**
  * StandardGameMode implements the default game logic, demonstrating extensibility,
  * composition, polymorphism (inclusion), and abstraction.
  */
 public class StandardGameMode implements GameMode {
+    // Encapsulation: Points awarded for each food item eaten
+    public static final int FOOD_SCORE = 30;
+
+    private final int foodCount;
+
+    public StandardGameMode() {
+        this(1);
+    }
+
+    // Overloaded constructor: several food items on the board at once
+    public StandardGameMode(int foodCount) {
+        this.foodCount = Math.max(1, foodCount);
+    }
+
+    @Override
+    public int getFoodCount() {
+        return foodCount;
+    }
+
     // Abstraction: Hides initialization logic
+    // Tops the board up to getFoodCount() food items and lets CPU players see all of them
     @Override
-    public void initialize(SnakeGame game) {
-        // No additional initialization needed; handled by SnakeGame constructor
+    public void initialize(GameState state) {
+        while (state.getFoods().size() < getFoodCount()) {
+            state.spawnFood();
+        }
+        for (Player p : state.getPlayers()) {
+            // Polymorphism (Coercion): Only AI players need to know about every food item
+            if (p instanceof AIPlayer ai) ai.setFoods(state.getFoods());
+        }
     }
 
     // Polymorphism (Inclusion): Calls move() on Player subtypes
     // Abstraction: Hides game update logic
     @Override
-    public void update(SnakeGame game) {
-        // Composition: Interacts with game’s Board, Food, and Players
-        for (Player p : game.getPlayers()) {
+    public void update(GameState state) {
+        // Composition: Interacts with the state’s Board, Food, and Players
+        // Metrics probes cost one volatile read each while metrics are disabled
+        for (Player p : state.getPlayers()) {
+            long t = Metrics.start();
             p.move();
-            if (game.getBoard().checkFood(p.getSnake(), game.getFood())) {
-                p.addScore(30);
-                game.getFood().respawn();
+            Metrics.stopMove(p.getName(), t);
+            t = Metrics.start();
+            for (Food food : state.getFoods()) {
+                if (state.getBoard().checkFood(p.getSnake(), food)) {
+                    p.addScore(FOOD_SCORE);
+                    food.respawn();
+                    break;
+                }
             }
-            if (game.getBoard().checkCollision(p.getSnake())) {
-                game.setRunning(false);
-                handleGameOver(game, p);
+            Metrics.stop(Metrics.Probe.FOOD, t);
+            t = Metrics.start();
+            boolean crashed = state.getBoard().checkCollision(p.getSnake());
+            Metrics.stop(Metrics.Probe.COLLISION, t);
+            if (crashed) {
+                handleGameOver(state, p);
                 break;
             }
         }
     }
 
     // Abstraction: Hides game-over logic
-    // Composition: Uses ScoreManager for score updates
+    // Listeners decide what a crash means to the outside world (dialogs, score files, reports)
     @Override
-    public void handleGameOver(SnakeGame game, Player loser) {
-        JOptionPane.showMessageDialog(null, loser.getName() + " crashed!");
-        for (Player p : game.getPlayers()) {
-            int delta = (p == loser ? -20 : 15);
-            ScoreManager.updateScore(p.getName(), delta);
-        }
-        MainMenu.main(null);
+    public void handleGameOver(GameState state, Player loser) {
+        state.setRunning(false);
+        state.fireGameOver(loser);
     }
-}
\ No newline at end of file
+}
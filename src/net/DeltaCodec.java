@@ -0,0 +1,233 @@
+package net;
+
+import core.GameCheckpoint;
+import core.Snake;
+import enums.Direction;
+import util.VarInts;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+/**
+ * DeltaCodec encodes a RemoteState as the changes since an older one the client already
+ * holds (its base), and applies such a DELTA to the base to get the new state back.
+ * A tick moves every snake by one head cell and at most one tail cell, so the common case
+ * for a seat is a single byte:
+ *
+ *   DELTA: varlong seq, varlong base seq, varlong tick,
+ *          varint changed foods, then per food: varint index, zig-zag x and y,
+ *          varint seat count, then per seat one flags byte and what it announces:
+ *            SCORE  varint score
+ *            META   direction, growing and eliminated flags (StateCodec.meta)
+ *            body:  STEP  one new head in the step direction (bits 4-5); the tail went
+ *                         too unless KEPT_TAIL is set
+ *                   MOVED varint heads added, varint tail cells removed, 2-bit steps
+ *                   FULL  the body as in a keyframe, when it cannot be derived from the base
+ *
+ * A 50-snake arena therefore costs roughly 60 to 100 bytes per tick. Food count and seat
+ * order must match the base, except that seats may be added; anything else needs a keyframe.
+ * Demonstrates abstraction and exception handling.
+ */
+public final class DeltaCodec {
+    private static final int SCORE = 1, META = 2;
+    private static final int BODY_MASK = 0x0C, STEP = 0x04, MOVED = 0x08, FULL = 0x0C;
+    private static final int STEP_SHIFT = 4, KEPT_TAIL = 0x40;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // What a seat the base does not have yet is compared against
+    private static final RemoteState.Seat EMPTY = new RemoteState.Seat(0, Direction.RIGHT, false, true, new int[0]);
+
+    private DeltaCodec() {}
+
+    // True if current can be sent as a delta against base
+    public static boolean canEncode(RemoteState base, RemoteState current) {
+        return base.seq() < current.seq()
+            && base.foodCells().length == current.foodCells().length
+            && base.seats().length <= current.seats().length;
+    }
+
+    // Abstraction: One DELTA frame, ready to send; check canEncode first
+    public static ByteBuffer encode(RemoteState base, RemoteState current) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(Protocol.DELTA);
+            VarInts.writeVarLong(out, current.seq());
+            VarInts.writeVarLong(out, base.seq());
+            VarInts.writeVarLong(out, current.tick());
+            int[] was = base.foodCells(), now = current.foodCells();
+            int changed = 0;
+            for (int i = 0; i < now.length; i++) if (now[i] != was[i]) changed++;
+            VarInts.writeVarInt(out, changed);
+            for (int i = 0; i < now.length; i++) {
+                if (now[i] == was[i]) continue;
+                VarInts.writeVarInt(out, i);
+                StateCodec.writeCell(out, now[i]);
+            }
+            RemoteState.Seat[] seats = current.seats();
+            VarInts.writeVarInt(out, seats.length);
+            // Negative across rounds, which makes every body FULL
+            int ticks = (int) Math.max(-1, Math.min(current.tick() - base.tick(), Integer.MAX_VALUE));
+            for (int i = 0; i < seats.length; i++) {
+                writeSeat(out, i < base.seats().length ? base.seats()[i] : EMPTY, seats[i], ticks);
+            }
+        } catch (IOException e) {
+            // Exception Handling: Writing to memory cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return Protocol.frame(ByteBuffer.wrap(bytes.toByteArray()).position(bytes.size()));
+    }
+
+    private static void writeSeat(DataOutputStream out, RemoteState.Seat was, RemoteState.Seat now,
+                                  int ticks) throws IOException {
+        int flags = 0;
+        if (now.score() != was.score()) flags |= SCORE;
+        int meta = StateCodec.meta(now);
+        if (meta != StateCodec.meta(was)) flags |= META;
+        int[] cells = now.cells();
+        int added = 0, removed = 0;
+        if (!now.eliminated()) {
+            added = headsAdded(was.cells(), cells, ticks);
+            if (added < 0) {
+                flags |= FULL;
+            } else {
+                removed = was.cells().length - (cells.length - added);
+                if (added == 1 && removed <= 1) {
+                    flags |= STEP | GameCheckpoint.stepBetween(cells[1], cells[0]) << STEP_SHIFT
+                             | (removed == 0 ? KEPT_TAIL : 0);
+                } else if (added > 0 || removed > 0) {
+                    flags |= MOVED;
+                }
+            }
+        }
+        out.writeByte(flags);
+        if ((flags & SCORE) != 0) VarInts.writeVarInt(out, now.score());
+        if ((flags & META) != 0) out.writeByte(meta);
+        switch (flags & BODY_MASK) {
+            case MOVED -> {
+                VarInts.writeVarInt(out, added);
+                VarInts.writeVarInt(out, removed);
+                int bits = 0, used = 0;
+                // Oldest new head first, each step from the cell behind it
+                for (int j = added - 1; j >= 0; j--) {
+                    bits |= GameCheckpoint.stepBetween(cells[j + 1], cells[j]) << (2 * used);
+                    if (++used == 4) {
+                        out.writeByte(bits);
+                        bits = 0;
+                        used = 0;
+                    }
+                }
+                if (used > 0) out.writeByte(bits);
+            }
+            case FULL -> GameCheckpoint.writeBody(cells, out);
+            default -> { }
+        }
+    }
+
+    /**
+     * How many head cells now has in front of the base body, or -1 if now is not the base
+     * body moved forward by single steps (a new round, a respawn, a first appearance).
+     * The answer is normally the number of ticks between them, so only that offset is tried.
+     */
+    private static int headsAdded(int[] was, int[] now, int ticks) {
+        if (was.length == 0) return -1;
+        int added = Math.min(ticks, now.length - 1);
+        if (added < 0 || now.length - added > was.length) return -1;
+        for (int j = 0; j + added < now.length; j++) {
+            if (now[j + added] != was[j]) return -1;
+        }
+        for (int j = 0; j < added; j++) {
+            if (GameCheckpoint.stepBetween(now[j + 1], now[j]) < 0) return -1;
+        }
+        return added;
+    }
+
+    // The seq of the state a DELTA payload (type byte included) was encoded against
+    public static long baseSeq(ByteBuffer payload) throws ProtocolException {
+        ByteBuffer b = payload.duplicate();
+        if (b.get() != Protocol.DELTA) throw new ProtocolException("Not a delta frame");
+        VarInts.readVarLong(b);
+        return VarInts.readVarLong(b);
+    }
+
+    // Rebuilds the state a DELTA payload (type byte included) describes from its base
+    public static RemoteState apply(RemoteState base, ByteBuffer payload) throws ProtocolException {
+        byte[] copy = new byte[payload.remaining()];
+        payload.get(copy);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(copy))) {
+            if (in.readByte() != Protocol.DELTA) throw new ProtocolException("Not a delta frame");
+            long seq = VarInts.readVarLong(in);
+            if (VarInts.readVarLong(in) != base.seq()) throw new ProtocolException("Delta against another base");
+            long tick = VarInts.readVarLong(in);
+            int[] foods = base.foodCells().clone();
+            int changed = StateCodec.checkedCount(in, copy.length);
+            for (int i = 0; i < changed; i++) {
+                int index = VarInts.readVarInt(in);
+                if (index < 0 || index >= foods.length) throw new ProtocolException("Bad food index " + index);
+                foods[index] = StateCodec.readCell(in);
+            }
+            RemoteState.Seat[] seats = new RemoteState.Seat[StateCodec.checkedCount(in, copy.length)];
+            if (seats.length < base.seats().length) throw new ProtocolException("Seats removed");
+            for (int i = 0; i < seats.length; i++) {
+                seats[i] = readSeat(in, i < base.seats().length ? base.seats()[i] : EMPTY, copy.length);
+            }
+            return new RemoteState(seq, tick, foods, seats);
+        } catch (ProtocolException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new ProtocolException("Corrupt delta frame: " + e);
+        }
+    }
+
+    private static RemoteState.Seat readSeat(DataInputStream in, RemoteState.Seat was, int limit)
+            throws IOException {
+        int flags = in.readUnsignedByte();
+        int score = (flags & SCORE) != 0 ? VarInts.readVarInt(in) : was.score();
+        int meta = (flags & META) != 0 ? in.readUnsignedByte() : StateCodec.meta(was);
+        int[] old = was.cells();
+        int[] cells = switch (flags & BODY_MASK) {
+            case STEP -> {
+                if (old.length == 0) throw new ProtocolException("Step without a body");
+                int kept = (flags & KEPT_TAIL) != 0 ? old.length : old.length - 1;
+                yield advance(old, kept, new int[] {(flags >>> STEP_SHIFT) & 3});
+            }
+            case MOVED -> {
+                int added = StateCodec.checkedCount(in, 4 * limit);
+                int removed = StateCodec.checkedCount(in, old.length);
+                if (added > 0 && old.length == 0) throw new ProtocolException("Move without a body");
+                int[] steps = new int[added];
+                int bits = 0;
+                for (int j = 0; j < added; j++) {
+                    if (j % 4 == 0) bits = in.readUnsignedByte();
+                    steps[j] = (bits >>> (2 * (j % 4))) & 3;
+                }
+                yield advance(old, old.length - removed, steps);
+            }
+            case FULL -> GameCheckpoint.readBody(in, 4 * limit + 1);
+            default -> old;
+        };
+        return StateCodec.seat(score, meta, cells);
+    }
+
+    // The first `kept` cells of old behind new heads reached by the steps, oldest step first
+    private static int[] advance(int[] old, int kept, int[] steps) {
+        int[] cells = new int[steps.length + kept];
+        System.arraycopy(old, 0, cells, steps.length, kept);
+        int head = old[0];
+        for (int j = 0; j < steps.length; j++) {
+            int x = Snake.unpackX(head), y = Snake.unpackY(head);
+            switch (DIRECTIONS[steps[j]]) {
+                case UP    -> y--;
+                case DOWN  -> y++;
+                case LEFT  -> x--;
+                case RIGHT -> x++;
+            }
+            head = Snake.pack(x, y);
+            cells[steps.length - 1 - j] = head;
+        }
+        return cells;
+    }
+}
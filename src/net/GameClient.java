@@ -0,0 +1,350 @@
+package net;
+
+import core.RenderSnapshot;
+import enums.Direction;
+import util.SpscRing;
+import util.VarInts;
+import java.awt.Color;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * GameClient connects to a GameServer, sends the local player's turns and keeps the
+ * latest game state for rendering. Its network thread owns the socket through a Selector;
+ * the UI thread only offers inputs to an SPSC ring and reads published snapshots.
+ * Inputs are stamped with the server tick they should land on: the client estimates the
+ * server's current tick from the last state and the time since, and adds half a round
+ * trip. getSnapshot() shows the other players as the server last sent them and the local
+ * snake predicted to that same stamped tick (see Prediction).
+ * Every state received is acked, and the server sends the next one as a delta against
+ * the newest ack it has; the client keeps the last HISTORY states to apply those to.
+ * A spectator takes no seat and only watches.
+ * Demonstrates composition, encapsulation and exception handling.
+ */
+public class GameClient implements Runnable, Closeable {
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    // Round trips are measured with a ping this often
+    private static final long PING_INTERVAL_NANOS = 1_000_000_000L;
+    // States kept as delta bases; more than the server keeps, so its bases are always here
+    private static final int HISTORY = 64;
+
+    private record Input(int seq, long tick, Direction direction) {}
+    // Seat names and colors from the last ROSTER
+    private record Roster(String[] names, Color[] colors) {}
+    // The last state and when it arrived, published as one unit
+    private record Received(RemoteState state, long at) {}
+
+    private final InetSocketAddress address;
+    private final String name;
+    private final boolean spectator;
+    // Network thread only
+    private final RemoteState[] history = new RemoteState[HISTORY];
+    private final SpscRing<Input> outgoing = new SpscRing<>(64);
+    private final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+    private final Prediction prediction = new Prediction();
+    private SocketChannel channel;
+    private Selector selector;
+    private volatile boolean running;
+    private volatile Received received;
+    private volatile Roster roster = new Roster(new String[0], new Color[0]);
+    private volatile int seat = -1;
+    private volatile int cols, rows;
+    private volatile long stepNanos = 100_000_000L;
+    private volatile long rttNanos;
+    private volatile long statesReceived;
+    private volatile long deltasReceived;
+    private volatile long bytesReceived;
+    // Written only by the thread calling sendInput
+    private int nextSeq = 1;
+
+    public GameClient(String host, int port, String name) {
+        this(host, port, name, false);
+    }
+
+    // Polymorphism (Overloading): A spectator watches the game without a snake of its own
+    public GameClient(String host, int port, String name, boolean spectator) {
+        this.address = new InetSocketAddress(host, port);
+        this.name = Protocol.clampName(name);
+        this.spectator = spectator;
+    }
+
+    // Connects, says hello and starts the network thread
+    public void start() throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+        ByteBuffer hello = ByteBuffer.allocate(16 + Protocol.MAX_NAME_BYTES);
+        hello.put(Protocol.HELLO);
+        VarInts.writeVarInt(hello, Protocol.VERSION);
+        Protocol.putString(hello, name);
+        hello.put((byte) (spectator ? 1 : 0));
+        writes.add(Protocol.frame(hello));
+        running = true;
+        Thread t = new Thread(this, "snake-net-client");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // Network loop: reads frames, sends queued inputs, until closed or the server goes away
+    @Override
+    public void run() {
+        ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        long nextPing = System.nanoTime();
+        try {
+            while (running) {
+                if (System.nanoTime() - nextPing >= 0) {
+                    writes.add(pingFrame());
+                    nextPing += PING_INTERVAL_NANOS;
+                }
+                Input input;
+                while ((input = outgoing.poll()) != null) writes.add(inputFrame(input));
+                flush();
+                selector.select(Math.max(1, stepNanos / 1_000_000));
+                selector.selectedKeys().clear();
+                int n = channel.read(in);
+                if (n < 0) break;
+                bytesReceived += n;
+                in.flip();
+                try {
+                    ByteBuffer payload;
+                    while ((payload = Protocol.nextFrame(in)) != null) receive(payload);
+                } finally {
+                    in.compact();
+                }
+                flush();
+                // States of big games can outgrow the buffer; a frame is never longer than MAX_FRAME
+                if (!in.hasRemaining()) {
+                    if (in.capacity() > Protocol.MAX_FRAME) throw new ProtocolException("Frame too large");
+                    in = ByteBuffer.allocate(in.capacity() * 2).put(in.flip());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Includes ClosedSelectorException from close() and anything a malformed frame throws
+            if (running) System.err.println("Disconnected: " + e.getMessage());
+        } finally {
+            running = false;
+            closeQuietly();
+        }
+    }
+
+    private void receive(ByteBuffer payload) throws ProtocolException {
+        byte type = payload.get(payload.position());
+        switch (type) {
+            case Protocol.WELCOME -> {
+                payload.get();
+                seat = VarInts.readVarInt(payload);
+                cols = VarInts.readVarInt(payload);
+                rows = VarInts.readVarInt(payload);
+                stepNanos = 1_000_000_000L / Math.max(1, VarInts.readVarInt(payload));
+                synchronized (prediction) {
+                    // A new round: inputs meant for the old one must not be replayed
+                    prediction.acknowledge(Integer.MAX_VALUE);
+                }
+            }
+            case Protocol.ROSTER -> {
+                payload.get();
+                int n = VarInts.readVarInt(payload);
+                if (n < 0 || n > payload.remaining()) throw new ProtocolException("Bad roster size " + n);
+                String[] names = new String[n];
+                Color[] colors = new Color[n];
+                for (int i = 0; i < n; i++) {
+                    names[i] = Protocol.getString(payload);
+                    colors[i] = new Color(payload.getInt());
+                }
+                roster = new Roster(names, colors);
+            }
+            case Protocol.ACK -> {
+                payload.get();
+                int seq = VarInts.readVarInt(payload);
+                synchronized (prediction) {
+                    prediction.acknowledge(seq);
+                }
+            }
+            case Protocol.STATE -> accept(StateCodec.decode(payload));
+            case Protocol.DELTA -> {
+                long baseSeq = DeltaCodec.baseSeq(payload);
+                RemoteState base = history[(int) (baseSeq % HISTORY)];
+                if (base == null || base.seq() != baseSeq) throw new ProtocolException("Delta against unknown state " + baseSeq);
+                accept(DeltaCodec.apply(base, payload));
+                deltasReceived++;
+            }
+            case Protocol.PONG -> {
+                payload.get();
+                rttNanos = System.nanoTime() - VarInts.readVarLong(payload);
+            }
+            default -> throw new ProtocolException("Unknown message type " + type);
+        }
+    }
+
+    // Publishes a new state, keeps it as a delta base and tells the server it arrived
+    private void accept(RemoteState state) {
+        history[(int) (state.seq() % HISTORY)] = state;
+        received = new Received(state, System.nanoTime());
+        statesReceived++;
+        ByteBuffer ack = ByteBuffer.allocate(16);
+        ack.put(Protocol.STATE_ACK);
+        VarInts.writeVarLong(ack, state.seq());
+        writes.add(Protocol.frame(ack));
+    }
+
+    private ByteBuffer inputFrame(Input input) {
+        ByteBuffer payload = ByteBuffer.allocate(16);
+        payload.put(Protocol.INPUT);
+        VarInts.writeVarInt(payload, input.seq());
+        VarInts.writeVarLong(payload, input.tick());
+        payload.put((byte) input.direction().ordinal());
+        return Protocol.frame(payload);
+    }
+
+    private static ByteBuffer pingFrame() {
+        ByteBuffer payload = ByteBuffer.allocate(16);
+        payload.put(Protocol.PING);
+        VarInts.writeVarLong(payload, System.nanoTime());
+        return Protocol.frame(payload);
+    }
+
+    private void flush() throws IOException {
+        while (!writes.isEmpty()) {
+            ByteBuffer b = writes.peek();
+            channel.write(b);
+            if (b.hasRemaining()) break;
+            writes.poll();
+        }
+        channel.keyFor(selector).interestOps(writes.isEmpty()
+            ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Sends a turn, stamped with the tick it should take effect in, and starts predicting
+     * it. Call from one thread only (e.g. the EDT). Returns false if the client is not
+     * seated or too many inputs are still waiting to be sent.
+     */
+    public boolean sendInput(Direction direction) {
+        if (!running || seat < 0) return false;
+        Input input = new Input(nextSeq, estimatedServerTick() + leadTicks(), direction);
+        if (!outgoing.offer(input)) return false;
+        nextSeq++;
+        synchronized (prediction) {
+            prediction.record(input.seq(), input.tick(), input.direction());
+        }
+        selector.wakeup();
+        return true;
+    }
+
+    // The server's tick now, extrapolated from the last state by the time since it arrived
+    public long estimatedServerTick() {
+        Received r = received;
+        if (r == null) return 0;
+        return r.state().tick() + (System.nanoTime() - r.at()) / stepNanos;
+    }
+
+    // Ticks an input needs to reach the server: half a round trip, rounded up, plus one
+    private long leadTicks() {
+        return (rttNanos / 2 + stepNanos - 1) / stepNanos + 1;
+    }
+
+    /**
+     * The latest state for rendering, with the local snake predicted up to the tick the
+     * next input would be stamped for. Null until the first state arrives.
+     */
+    public RenderSnapshot getSnapshot() {
+        Received r = received;
+        if (r == null) return null;
+        RemoteState state = r.state();
+        Roster names = roster;
+        int mySeat = seat;
+        RemoteState.Seat[] seats = state.seats();
+        RenderSnapshot.PlayerView[] views = new RenderSnapshot.PlayerView[seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            int[] cells = seats[i].cells();
+            if (i == mySeat) {
+                synchronized (prediction) {
+                    cells = prediction.predict(state, i, estimatedServerTick() + leadTicks() - 1);
+                }
+            }
+            String n = i < names.names().length ? names.names()[i] : "Player " + (i + 1);
+            Color c = i < names.colors().length ? names.colors()[i] : Color.GRAY;
+            views[i] = new RenderSnapshot.PlayerView(n, c, seats[i].score(), cells);
+        }
+        return RenderSnapshot.of(state.tick(), r.at(), state.foodCells(), views);
+    }
+
+    // The latest authoritative state, without prediction; null until the first one arrives
+    public RemoteState getState() {
+        Received r = received;
+        return r == null ? null : r.state();
+    }
+
+    public int getSeat() { return seat; }
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+    public long getStepNanos() { return stepNanos; }
+    public long getRttNanos() { return rttNanos; }
+    public long getStatesReceived() { return statesReceived; }
+    public long getDeltasReceived() { return deltasReceived; }
+    public long getBytesReceived() { return bytesReceived; }
+    public boolean isSpectator() { return spectator; }
+    public boolean isConnected() { return running; }
+
+    @Override
+    public void close() {
+        running = false;
+        if (selector != null) selector.wakeup();
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+            selector.close();
+        } catch (IOException e) {
+            // Already disconnected; nothing else to release
+        }
+    }
+
+    /**
+     * Load test over loopback or a real network: connects `clients` headless players that
+     * turn at random, then reports states received, bytes per state and round trips.
+     * Usage: GameClient [host] [port] [clients] [seconds]
+     */
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.DEFAULT_PORT;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        GameClient[] clients = new GameClient[count];
+        for (int i = 0; i < count; i++) {
+            clients[i] = new GameClient(host, port, "Bot " + i);
+            clients[i].start();
+        }
+        Direction[] dirs = Direction.values();
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            Thread.sleep(50);
+            GameClient c = clients[ThreadLocalRandom.current().nextInt(count)];
+            c.sendInput(dirs[ThreadLocalRandom.current().nextInt(dirs.length)]);
+        }
+        long states = 0, deltas = 0, bytes = 0, rtt = 0, connected = 0;
+        for (GameClient c : clients) {
+            states += c.getStatesReceived();
+            deltas += c.getDeltasReceived();
+            bytes += c.getBytesReceived();
+            rtt += c.getRttNanos();
+            if (c.isConnected()) connected++;
+            c.close();
+        }
+        System.out.printf("%d/%d clients connected, %.1f states/s each (%.0f%% deltas), %.0f bytes/state,"
+                          + " mean round trip %.2f ms%n", connected, count, states / (double) count / seconds,
+                          100.0 * deltas / Math.max(1, states), bytes / (double) Math.max(1, states), rtt / 1e6 / count);
+    }
+}
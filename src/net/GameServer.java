@@ -0,0 +1,414 @@
+package net;
+
+import core.ArenaGameMode;
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import enums.Direction;
+import player.AIPlayer;
+import player.Player;
+import util.VarInts;
+import java.awt.Color;
+import java.awt.Point;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GameServer runs an ArenaGameMode game authoritatively and serves it to GameClients over
+ * TCP. A single thread does everything: one Selector multiplexes the listening socket and
+ * every connection, and the same thread steps the game whenever a tick is due, so the
+ * GameState is never shared and needs no locking.
+ * Each tick a client gets the new state as a DELTA against the newest one it has acked
+ * (see DeltaCodec), or as a full STATE keyframe when it has acked nothing the server still
+ * remembers and every KEYFRAME_INTERVAL ticks regardless. Clients acking the same state
+ * share one encoded delta, and all keyframes of a tick share one encoding.
+ * A client that cannot keep up only ever has its newest state waiting, older ones are
+ * dropped rather than buffered, so a slow connection costs memory for one frame.
+ * When a round ends a new one starts with everyone still connected, plus any CPU snakes
+ * (at the level -Dsnake.aiDifficulty sets, see AIPlayer.configuredDifficulty).
+ * Demonstrates composition (the server owns its game), encapsulation and exception
+ * handling: a misbehaving connection is closed without disturbing the others.
+ */
+public class GameServer implements Runnable, Closeable {
+    private static final int READ_BUFFER_BYTES = 4096;
+    // Control frames (welcome, roster) queued for one client before it counts as stuck
+    private static final int MAX_CONTROL_FRAMES = 64;
+    // Broadcast states kept as delta bases; an ack older than this gets a keyframe
+    private static final int HISTORY = 32;
+    // Ticks between keyframes for a client that acks everything
+    private static final int KEYFRAME_INTERVAL = 100;
+    private static final Color[] PALETTE = {
+        Color.GREEN, Color.BLUE, Color.ORANGE, Color.CYAN, Color.PINK, Color.YELLOW, Color.WHITE, Color.MAGENTA
+    };
+
+    // Encapsulation: One client connection and its outbound frames
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        final ArrayDeque<ByteBuffer> control = new ArrayDeque<>();
+        ByteBuffer sending;
+        ByteBuffer latestState;
+        String name;
+        RemotePlayer player;
+        boolean spectator;
+        int ackedSeq;
+        // Newest state the client has confirmed, or -1; see Protocol.STATE_ACK
+        long ackedState = -1;
+        long lastKeyframe = Long.MIN_VALUE / 2;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final int cols, rows;
+    private final int bots;
+    private final int difficulty = AIPlayer.configuredDifficulty();
+    private final Selector selector;
+    private final ServerSocketChannel listener;
+    private final long stepNanos;
+    private final int tickRate;
+    private final List<Connection> connections = new ArrayList<>();
+    private final GameRandom seeds = new GameRandom(System.nanoTime());
+    private final RemoteState[] history = new RemoteState[HISTORY];
+    private GameState state;
+    private volatile boolean running = true;
+    private volatile int connectionCount;
+    private volatile long ticks;
+    private volatile long bytesSent;
+
+    public GameServer(InetSocketAddress address, int cols, int rows) throws IOException {
+        this(address, cols, rows, 0);
+    }
+
+    // Binds immediately, so a port of 0 picks a free one; see getPort(). Every round starts with `bots` CPU snakes
+    public GameServer(InetSocketAddress address, int cols, int rows, int bots) throws IOException {
+        this.cols = cols;
+        this.rows = rows;
+        this.bots = Math.max(0, bots);
+        this.selector = Selector.open();
+        this.listener = ServerSocketChannel.open();
+        listener.bind(address);
+        listener.configureBlocking(false);
+        listener.register(selector, SelectionKey.OP_ACCEPT);
+        newRound();
+        this.tickRate = state.getGameMode().getTickRate();
+        this.stepNanos = 1_000_000_000L / tickRate;
+    }
+
+    public int getPort() {
+        return listener.socket().getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    // Bytes written to all clients so far
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    // Server loop: waits for I/O until the next tick is due, then ticks and broadcasts
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime() + stepNanos;
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    selector.select(Math.max(1, wait / 1_000_000));
+                } else {
+                    selector.selectNow();
+                }
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    // Handling an earlier key may have disconnected this one, e.g. a write in sendRoster
+                    if (!key.isValid()) continue;
+                    handle(key);
+                }
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    tick();
+                    nextTick += stepNanos;
+                    // Skip ticks that can no longer be on time instead of bursting them out
+                    if (now - nextTick > stepNanos) nextTick = now + stepNanos;
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) System.err.println("Game server stopped: " + e.getMessage());
+        } finally {
+            for (Connection c : new ArrayList<>(connections)) disconnect(c);
+            try {
+                listener.close();
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close game server: " + e.getMessage());
+            }
+        }
+    }
+
+    // Stops the loop on its next wake-up; connections are closed by the server thread
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // Exception Handling: Any failure on one connection closes just that connection. Malformed
+    // payloads also surface unchecked, e.g. an overlong varint or a frame cut short, so those count too
+    private void handle(SelectionKey key) throws IOException {
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Connection c = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) read(c);
+            if (key.isValid() && key.isWritable()) flush(c);
+        } catch (IOException | RuntimeException e) {
+            disconnect(c);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while ((ch = listener.accept()) != null) {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection c = new Connection(ch);
+            ch.register(selector, SelectionKey.OP_READ, c);
+            connections.add(c);
+            connectionCount = connections.size();
+        }
+    }
+
+    private void read(Connection c) throws IOException {
+        if (c.channel.read(c.in) < 0) throw new IOException("Closed by peer");
+        c.in.flip();
+        try {
+            ByteBuffer payload;
+            while ((payload = Protocol.nextFrame(c.in)) != null) {
+                receive(c, payload);
+            }
+        } finally {
+            c.in.compact();
+        }
+        // Client frames are tiny; one that cannot fit the buffer is never going to complete
+        if (!c.in.hasRemaining()) throw new ProtocolException("Frame too large");
+    }
+
+    private void receive(Connection c, ByteBuffer payload) throws IOException {
+        byte type = payload.get();
+        if (type == Protocol.HELLO) {
+            if (VarInts.readVarInt(payload) != Protocol.VERSION) throw new ProtocolException("Version mismatch");
+            if (c.name != null) throw new ProtocolException("Duplicate hello");
+            c.name = Protocol.clampName(Protocol.getString(payload));
+            c.spectator = payload.get() != 0;
+            join(c);
+            sendRoster();
+        } else if (type == Protocol.INPUT) {
+            int seq = VarInts.readVarInt(payload);
+            long tick = VarInts.readVarLong(payload);
+            Direction dir = Protocol.getDirection(payload);
+            if (c.player != null) c.player.queue(seq, tick, dir);
+        } else if (type == Protocol.PING) {
+            ByteBuffer pong = ByteBuffer.allocate(16);
+            pong.put(Protocol.PONG);
+            VarInts.writeVarLong(pong, VarInts.readVarLong(payload));
+            queueControl(c, Protocol.frame(pong));
+        } else if (type == Protocol.STATE_ACK) {
+            // Acks of states never sent, or overtaken by a later ack, are ignored
+            long seq = VarInts.readVarLong(payload);
+            if (seq > c.ackedState && seq <= ticks) c.ackedState = seq;
+        } else {
+            throw new ProtocolException("Unknown message type " + type);
+        }
+    }
+
+    // Seats the connection in the current round; spectators, and anyone on a full board, only watch
+    private void join(Connection c) throws IOException {
+        Point at = c.spectator ? null : ArenaGameMode.spawnPoint(state.getBoard(), state.getRandom());
+        c.player = null;
+        c.ackedSeq = 0;
+        if (at != null) {
+            Color color = PALETTE[state.getPlayers().size() % PALETTE.length];
+            c.player = new RemotePlayer(c.name, at.x, at.y, color, state);
+            state.addPlayer(c.player);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(32);
+        payload.put(Protocol.WELCOME);
+        VarInts.writeVarInt(payload, c.player == null ? -1 : state.getPlayers().indexOf(c.player));
+        VarInts.writeVarInt(payload, cols);
+        VarInts.writeVarInt(payload, rows);
+        VarInts.writeVarInt(payload, tickRate);
+        queueControl(c, Protocol.frame(payload));
+    }
+
+    private void sendRoster() throws IOException {
+        List<Player> players = state.getPlayers();
+        ByteBuffer payload = ByteBuffer.allocate(8 + players.size() * (Protocol.MAX_NAME_BYTES + 10));
+        payload.put(Protocol.ROSTER);
+        VarInts.writeVarInt(payload, players.size());
+        for (Player p : players) {
+            Protocol.putString(payload, p.getName());
+            payload.putInt(p.getColor().getRGB());
+        }
+        ByteBuffer frame = Protocol.frame(payload);
+        for (Connection c : new ArrayList<>(connections)) {
+            if (c.name != null) queueControl(c, frame.duplicate());
+        }
+    }
+
+    private void queueControl(Connection c, ByteBuffer frame) {
+        if (c.control.size() >= MAX_CONTROL_FRAMES) {
+            disconnect(c);
+            return;
+        }
+        c.control.add(frame);
+        tryFlush(c);
+    }
+
+    // Steps the game if anyone is playing, then sends every client its ack and the new state
+    private void tick() throws IOException {
+        ticks++;
+        if (!state.isRunning()) {
+            newRound();
+            for (Connection c : new ArrayList<>(connections)) {
+                if (c.name != null) join(c);
+            }
+            sendRoster();
+        } else if (!state.getPlayers().isEmpty()) {
+            state.step();
+        }
+        RemoteState current = StateCodec.snapshot(state, ticks);
+        history[(int) (ticks % HISTORY)] = current;
+        ByteBuffer keyframe = null;
+        Map<Long, ByteBuffer> deltas = new HashMap<>();
+        for (Connection c : new ArrayList<>(connections)) {
+            if (c.name == null) continue;
+            if (c.player != null && c.player.getAppliedSeq() != c.ackedSeq) {
+                c.ackedSeq = c.player.getAppliedSeq();
+                ByteBuffer ack = ByteBuffer.allocate(16);
+                ack.put(Protocol.ACK);
+                VarInts.writeVarInt(ack, c.ackedSeq);
+                VarInts.writeVarLong(ack, c.player.getAppliedTick());
+                queueControl(c, Protocol.frame(ack));
+            }
+            RemoteState base = baseFor(c, current);
+            ByteBuffer frame;
+            if (base == null) {
+                if (keyframe == null) keyframe = StateCodec.encode(current);
+                frame = keyframe;
+                c.lastKeyframe = current.seq();
+            } else {
+                frame = deltas.computeIfAbsent(base.seq(), seq -> DeltaCodec.encode(base, current));
+            }
+            // Backpressure: an unsent older state is simply replaced, deltas included, since
+            // each one is against a state the client has confirmed
+            c.latestState = frame.duplicate();
+            tryFlush(c);
+        }
+    }
+
+    // The newest acked state still in the history, or null when the client needs a keyframe
+    private RemoteState baseFor(Connection c, RemoteState current) {
+        if (c.ackedState < 0 || current.seq() - c.lastKeyframe >= KEYFRAME_INTERVAL) return null;
+        RemoteState base = history[(int) (c.ackedState % HISTORY)];
+        if (base == null || base.seq() != c.ackedState || !DeltaCodec.canEncode(base, current)) return null;
+        return base;
+    }
+
+    private void newRound() {
+        Board board = new Board(cols, rows, 30);
+        ArenaGameMode mode = new ArenaGameMode(board);
+        state = new GameState(board, mode, new GameRandom(seeds.nextLong()));
+        for (int i = 1; i <= bots; i++) {
+            Point at = ArenaGameMode.spawnPoint(board, state.getRandom());
+            if (at == null) break;
+            AIPlayer bot = new AIPlayer("CPU " + i, at.x, at.y, state.getFood());
+            bot.setDifficulty(difficulty);
+            state.addPlayer(bot);
+        }
+        mode.initialize(state);
+    }
+
+    private void tryFlush(Connection c) {
+        try {
+            flush(c);
+        } catch (IOException e) {
+            disconnect(c);
+        }
+    }
+
+    // Writes control frames first, then the newest state; asks for OP_WRITE only while blocked
+    private void flush(Connection c) throws IOException {
+        SelectionKey key = c.channel.keyFor(selector);
+        if (key == null || !key.isValid()) return;
+        while (true) {
+            if (c.sending == null || !c.sending.hasRemaining()) {
+                c.sending = c.control.poll();
+                if (c.sending == null) {
+                    c.sending = c.latestState;
+                    c.latestState = null;
+                }
+                if (c.sending == null) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+            }
+            bytesSent += c.channel.write(c.sending);
+            if (c.sending.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+    }
+
+    // A player who leaves mid-round is eliminated like one who crashed
+    private void disconnect(Connection c) {
+        if (!connections.remove(c)) return;
+        connectionCount = connections.size();
+        try {
+            c.channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with a connection that fails to close
+        }
+        if (c.player != null && state.isRunning() && !c.player.getSnake().isEliminated()) {
+            state.getGameMode().handleGameOver(state, c.player);
+        }
+    }
+
+    // Usage: GameServer [port] [cols] [rows] [CPU snakes]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.DEFAULT_PORT;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 48;
+        int bots = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        GameServer server = new GameServer(new InetSocketAddress(port), cols, rows, bots);
+        System.out.println("Snake server on port " + server.getPort() + ", board " + cols + "x" + rows
+                           + ", " + bots + " CPU snakes at difficulty " + AIPlayer.configuredDifficulty());
+        server.run();
+    }
+}
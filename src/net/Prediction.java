@@ -0,0 +1,74 @@
+package net;
+
+import core.Snake;
+import enums.Direction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prediction moves the local snake ahead of the server so that a key press shows on the
+ * next frame instead of a round trip later. It starts from the last authoritative body and
+ * replays, tick by tick, every input the server has not acknowledged yet, under the same
+ * rules as RemotePlayer (stamped tick, one turn per tick, no reversing). When the next
+ * state arrives the acknowledged inputs are dropped and the replay starts over from it,
+ * so a wrong guess (food eaten, a crash) is corrected within a tick.
+ * Demonstrates encapsulation. Not thread-safe; GameClient guards it.
+ */
+final class Prediction {
+    private record Input(int seq, long tick, Direction direction) {}
+
+    private final List<Input> pending = new ArrayList<>();
+
+    void record(int seq, long tick, Direction direction) {
+        pending.add(new Input(seq, tick, direction));
+    }
+
+    // Inputs up to seq are part of every state from now on
+    void acknowledge(int seq) {
+        pending.removeIf(in -> in.seq() <= seq);
+    }
+
+    /**
+     * The seat's body at targetTick, head first, replaying unacknowledged inputs over the
+     * authoritative state. Eliminated seats, and targets not ahead of the state, are
+     * returned as the server sent them.
+     */
+    int[] predict(RemoteState state, int seat, long targetTick) {
+        RemoteState.Seat s = state.seats()[seat];
+        int[] cells = s.cells();
+        if (s.eliminated() || cells.length == 0 || targetTick <= state.tick()) return cells;
+        int steps = (int) Math.min(targetTick - state.tick(), cells.length + pending.size() + 64L);
+        // Ring buffer sized for the worst case: the body plus one cell per step
+        int capacity = cells.length + steps;
+        int[] ring = new int[capacity];
+        System.arraycopy(cells, 0, ring, 0, cells.length);
+        int head = 0, length = cells.length;
+        Direction dir = s.direction();
+        boolean grow = s.growing();
+        int next = 0;
+        for (long tick = state.tick() + 1; tick <= state.tick() + steps; tick++) {
+            while (next < pending.size() && pending.get(next).tick() <= tick) {
+                Direction d = pending.get(next++).direction();
+                if (d != dir && d != dir.opposite()) {
+                    dir = d;
+                    break;
+                }
+            }
+            int x = Snake.unpackX(ring[head]), y = Snake.unpackY(ring[head]);
+            switch (dir) {
+                case UP    -> y--;
+                case DOWN  -> y++;
+                case LEFT  -> x--;
+                case RIGHT -> x++;
+            }
+            if (!grow) length--;
+            grow = false;
+            head = (head - 1 + capacity) % capacity;
+            ring[head] = Snake.pack(x, y);
+            length++;
+        }
+        int[] out = new int[length];
+        for (int i = 0; i < length; i++) out[i] = ring[(head + i) % capacity];
+        return out;
+    }
+}
@@ -0,0 +1,117 @@
+package net;
+
+import enums.Direction;
+import util.VarInts;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocol defines the binary wire format shared by GameServer and GameClient.
+ * Every message is a frame: a varint payload length, then the payload, whose first byte
+ * is the message type. Integers are varints, so a typical input frame is 5 bytes.
+ *
+ *   HELLO     client: varint version, string name, byte 1 to only watch or 0 to play
+ *   INPUT     client: varint seq, varlong tick the turn is meant for, byte direction
+ *   PING      client: varlong client time, echoed back unchanged in a PONG
+ *   STATE_ACK client: varlong seq of the newest state it holds, a base for deltas
+ *   WELCOME   server: varint seat, varint cols, varint rows, varint tick rate
+ *   ROSTER    server: varint count, then per seat: string name, int RGB color
+ *   ACK       server: varint highest input seq applied, varlong tick it was applied in
+ *   STATE     server: varlong seq, varlong tick, then foods and players as written by StateCodec
+ *   PONG      server: the PING's payload
+ *   DELTA     server: a state as the changes since an acked one, as written by DeltaCodec
+ *
+ * Strings are a varint byte count followed by UTF-8. Demonstrates encapsulation of the
+ * wire format and exception handling: anything malformed is a ProtocolException, and the
+ * receiving side drops the connection.
+ */
+public final class Protocol {
+    public static final int VERSION = 2;
+    public static final int DEFAULT_PORT = 7777;
+    // Longest payload either side accepts; a longer length prefix means a broken peer
+    public static final int MAX_FRAME = 1 << 20;
+    public static final int MAX_NAME_BYTES = 64;
+
+    // Client to server
+    public static final byte HELLO = 1;
+    public static final byte INPUT = 2;
+    public static final byte PING = 3;
+    public static final byte STATE_ACK = 4;
+    // Server to client
+    public static final byte WELCOME = 16;
+    public static final byte ROSTER = 17;
+    public static final byte ACK = 18;
+    public static final byte STATE = 19;
+    public static final byte PONG = 20;
+    public static final byte DELTA = 21;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private Protocol() {}
+
+    // Abstraction: Wraps a payload, written from position 0 up to its position, in a frame ready to send
+    public static ByteBuffer frame(ByteBuffer payload) {
+        payload.flip();
+        ByteBuffer out = ByteBuffer.allocate(payload.remaining() + 5);
+        VarInts.writeVarInt(out, payload.remaining());
+        out.put(payload);
+        return out.flip();
+    }
+
+    /**
+     * Returns the next complete frame's payload from a buffer in read mode and moves past
+     * it, or null (leaving the buffer as it was) if the frame has not fully arrived yet.
+     */
+    public static ByteBuffer nextFrame(ByteBuffer in) throws ProtocolException {
+        int start = in.position();
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (!in.hasRemaining()) {
+                in.position(start);
+                return null;
+            }
+            int b = in.get() & 0xFF;
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+            if (shift >= 21) throw new ProtocolException("Malformed frame length");
+        }
+        if (length <= 0 || length > MAX_FRAME) throw new ProtocolException("Bad frame length " + length);
+        if (in.remaining() < length) {
+            in.position(start);
+            return null;
+        }
+        ByteBuffer payload = in.slice(in.position(), length);
+        in.position(in.position() + length);
+        return payload;
+    }
+
+    public static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        VarInts.writeVarInt(buf, bytes.length);
+        buf.put(bytes);
+    }
+
+    public static String getString(ByteBuffer buf) throws ProtocolException {
+        int n = VarInts.readVarInt(buf);
+        if (n < 0 || n > buf.remaining()) throw new ProtocolException("Bad string length " + n);
+        byte[] bytes = new byte[n];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static Direction getDirection(ByteBuffer buf) throws ProtocolException {
+        int ordinal = buf.get();
+        if (ordinal < 0 || ordinal >= DIRECTIONS.length) throw new ProtocolException("Bad direction " + ordinal);
+        return DIRECTIONS[ordinal];
+    }
+
+    // Player names are cut to MAX_NAME_BYTES of UTF-8, never in the middle of a character
+    static String clampName(String name) {
+        String s = name == null || name.isBlank() ? "Player" : name.strip();
+        while (s.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            s = s.substring(0, s.offsetByCodePoints(s.length(), -1));
+        }
+        return s;
+    }
+}
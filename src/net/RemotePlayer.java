@@ -0,0 +1,67 @@
+package net;
+
+import core.GameState;
+import enums.Direction;
+import player.Player;
+import java.awt.Color;
+import java.util.ArrayDeque;
+
+/**
+ * RemotePlayer is a Player steered by a network client. Inputs arrive stamped with the
+ * tick they are meant for and wait here until the server reaches that tick; a late input
+ * is applied on the next tick instead. At most one turn is taken per tick, and turns onto
+ * the current heading or its reverse are skipped, the same rules as HumanPlayer, so a
+ * client replaying its own inputs predicts the server's result.
+ * A stamp more than MAX_LEAD_TICKS ahead is pulled back to that lead. Around a round change
+ * the client still counts the old round's ticks, and one such input would otherwise hold
+ * back every later one until the new round caught up.
+ * Demonstrates inheritance and polymorphism (inclusion). Used only by the server thread.
+ */
+class RemotePlayer extends Player {
+    // Inputs held at most; a client this far ahead is flooding
+    private static final int MAX_PENDING = 32;
+    // Furthest ahead of the server an input may be stamped; clients stamp half a round trip ahead
+    static final int MAX_LEAD_TICKS = 10;
+
+    private record Input(int seq, long tick, Direction direction) {}
+
+    private final GameState state;
+    private final ArrayDeque<Input> pending = new ArrayDeque<>();
+    private int lastQueuedSeq;
+    // The newest input consumed, and the tick it was consumed for
+    private int appliedSeq;
+    private long appliedTick = -1;
+
+    RemotePlayer(String name, int sx, int sy, Color color, GameState state) {
+        super(name, sx, sy, color);
+        this.state = state;
+    }
+
+    // Duplicates and stale sequence numbers are ignored; a flood drops the oldest inputs
+    void queue(int seq, long tick, Direction direction) {
+        if (seq <= lastQueuedSeq) return;
+        lastQueuedSeq = seq;
+        if (pending.size() == MAX_PENDING) pending.poll();
+        pending.add(new Input(seq, Math.min(tick, state.getTick() + MAX_LEAD_TICKS), direction));
+    }
+
+    @Override
+    public void move() {
+        // update() runs before the tick counter advances, so this move produces tick + 1
+        long tick = state.getTick() + 1;
+        Direction current = getSnake().getDirection();
+        while (!pending.isEmpty() && pending.peek().tick() <= tick) {
+            Input in = pending.poll();
+            appliedSeq = in.seq();
+            appliedTick = tick;
+            if (in.direction() != current && in.direction() != current.opposite()) {
+                getSnake().setDirection(in.direction());
+                break;
+            }
+        }
+        getSnake().move();
+    }
+
+    int getAppliedSeq() { return appliedSeq; }
+    long getAppliedTick() { return appliedTick; }
+}
@@ -0,0 +1,15 @@
+package net;
+
+import enums.Direction;
+
+/**
+ * RemoteState is one tick of the server's game as a client sees it: food cells and, per
+ * seat, score, heading and body. Immutable by convention, like RenderSnapshot, so the
+ * network thread can publish it and any other thread can read it without locking.
+ * The seq numbers every state the server broadcasts, across rounds, so acks and deltas can
+ * name one even when a new round starts the tick count over.
+ */
+public record RemoteState(long seq, long tick, int[] foodCells, Seat[] seats) {
+    /** One seat; cells are packed with Snake.pack(), head first, and empty once eliminated. */
+    public record Seat(int score, Direction direction, boolean growing, boolean eliminated, int[] cells) {}
+}
@@ -0,0 +1,129 @@
+package net;
+
+import core.Food;
+import core.GameCheckpoint;
+import core.GameState;
+import core.Snake;
+import enums.Direction;
+import player.Player;
+import util.VarInts;
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * StateCodec writes a whole game as a STATE payload (a keyframe) and reads it back as a
+ * RemoteState. Bodies use the checkpoint encoding (head cell, then two bits per segment),
+ * so a 50-cell snake costs about 16 bytes. The server encodes once per tick and sends the
+ * same bytes to every client that needs a keyframe; DeltaCodec covers the others.
+ * Demonstrates abstraction and exception handling.
+ */
+public final class StateCodec {
+    // Seat flags next to the direction ordinal in the low two bits
+    static final int GROWING = 4, ELIMINATED = 8;
+
+    private StateCodec() {}
+
+    // Abstraction: Copies what clients see of the state; must run on the thread that advances it
+    public static RemoteState snapshot(GameState state, long seq) {
+        List<Food> foods = state.getFoods();
+        int[] foodCells = new int[foods.size()];
+        for (int i = 0; i < foodCells.length; i++) {
+            Point p = foods.get(i).getLocation();
+            foodCells[i] = Snake.pack(p.x, p.y);
+        }
+        List<Player> players = state.getPlayers();
+        RemoteState.Seat[] seats = new RemoteState.Seat[players.size()];
+        for (int i = 0; i < seats.length; i++) {
+            Player p = players.get(i);
+            Snake s = p.getSnake();
+            int[] cells = new int[s.isEliminated() ? 0 : s.length()];
+            for (int j = 0; j < cells.length; j++) cells[j] = s.cellAt(j);
+            seats[i] = new RemoteState.Seat(p.getScore(), s.getDirection(), s.isGrowing(), s.isEliminated(), cells);
+        }
+        return new RemoteState(seq, state.getTick(), foodCells, seats);
+    }
+
+    // Abstraction: One STATE frame, ready to send
+    public static ByteBuffer encode(RemoteState state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(Protocol.STATE);
+            VarInts.writeVarLong(out, state.seq());
+            VarInts.writeVarLong(out, state.tick());
+            VarInts.writeVarInt(out, state.foodCells().length);
+            for (int cell : state.foodCells()) writeCell(out, cell);
+            VarInts.writeVarInt(out, state.seats().length);
+            for (RemoteState.Seat seat : state.seats()) {
+                VarInts.writeVarInt(out, seat.score());
+                out.writeByte(meta(seat));
+                if (!seat.eliminated()) GameCheckpoint.writeBody(seat.cells(), out);
+            }
+        } catch (IOException e) {
+            // Exception Handling: Writing to memory cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return Protocol.frame(ByteBuffer.wrap(bytes.toByteArray()).position(bytes.size()));
+    }
+
+    // Reads a STATE payload, type byte included
+    public static RemoteState decode(ByteBuffer payload) throws ProtocolException {
+        byte[] copy = new byte[payload.remaining()];
+        payload.get(copy);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(copy))) {
+            if (in.readByte() != Protocol.STATE) throw new ProtocolException("Not a state frame");
+            long seq = VarInts.readVarLong(in);
+            long tick = VarInts.readVarLong(in);
+            int[] foods = new int[checkedCount(in, copy.length)];
+            for (int i = 0; i < foods.length; i++) foods[i] = readCell(in);
+            RemoteState.Seat[] seats = new RemoteState.Seat[checkedCount(in, copy.length)];
+            for (int i = 0; i < seats.length; i++) {
+                int score = VarInts.readVarInt(in);
+                int meta = in.readUnsignedByte();
+                int[] cells = (meta & ELIMINATED) != 0 ? new int[0]
+                                                       : GameCheckpoint.readBody(in, 4 * copy.length + 1);
+                seats[i] = seat(score, meta, cells);
+            }
+            return new RemoteState(seq, tick, foods, seats);
+        } catch (ProtocolException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new ProtocolException("Corrupt state frame: " + e);
+        }
+    }
+
+    // Direction ordinal plus the GROWING and ELIMINATED flags in one byte
+    static int meta(RemoteState.Seat seat) {
+        return seat.direction().ordinal() | (seat.growing() ? GROWING : 0) | (seat.eliminated() ? ELIMINATED : 0);
+    }
+
+    static RemoteState.Seat seat(int score, int meta, int[] cells) {
+        boolean eliminated = (meta & ELIMINATED) != 0;
+        return new RemoteState.Seat(score, Direction.values()[meta & 3], (meta & GROWING) != 0, eliminated,
+                                    eliminated ? new int[0] : cells);
+    }
+
+    // Cells go out as zig-zag coordinates, since food with nowhere to spawn sits at (-1, -1)
+    static void writeCell(DataOutputStream out, int cell) throws IOException {
+        VarInts.writeVarInt(out, VarInts.zigZag(Snake.unpackX(cell)));
+        VarInts.writeVarInt(out, VarInts.zigZag(Snake.unpackY(cell)));
+    }
+
+    static int readCell(DataInputStream in) throws IOException {
+        return Snake.pack(VarInts.unZigZag(VarInts.readVarInt(in)), VarInts.unZigZag(VarInts.readVarInt(in)));
+    }
+
+    // A count can never exceed the bytes left to describe its items
+    static int checkedCount(DataInputStream in, int limit) throws IOException {
+        int n = VarInts.readVarInt(in);
+        if (n < 0 || n > limit) throw new ProtocolException("Bad count " + n);
+        return n;
+    }
+}
@@ -1,20 +1,45 @@
 package player;
 
+import ai.AIStrategy;
+import ai.DecisionProfiler;
+import ai.DifficultyTable;
+import ai.GreedyStrategy;
+import ai.MctsStrategy;
+import ai.WeightedStrategy;
 import core.Food;
+import core.PathFinder;
 import core.Snake;
-import core.Segment;
 import enums.Direction;
 import java.awt.Color;
-import java.awt.Point;
+import java.util.List;
 
 /**
  * AIPlayer extends Player, demonstrating inheritance, encapsulation, polymorphism
- * (inclusion), and abstraction.
+ * (inclusion), and abstraction. The decision policy is a pluggable AIStrategy that must
+ * answer within a per-decision time budget; when it cannot, the cheap fallback decides.
  */
 public class AIPlayer extends Player {
+    // Default time allowed per decision: a small slice of a 100 ms tick
+    public static final long DEFAULT_BUDGET_NANOS = 2_000_000L;
+    // Difficulty from which a player left on the default strategy searches with MCTS;
+    // the levels below it are DifficultyTable's tuned weights. Games reach it through
+    // -Dsnake.aiDifficulty (see configuredDifficulty)
+    public static final int MCTS_DIFFICULTY = DifficultyTable.LEVELS + 1;
+    // Level of the CPU players the game, the arena and the server create unless
+    // -Dsnake.aiDifficulty says otherwise; about as strong as the BFS AI
+    public static final int GAME_DIFFICULTY = 3;
+
     // Encapsulation: Private fields
     private final Food food;
-    private int difficulty = 1; // Added for coercion example
+    // Optional: every food item on the board; the nearest one becomes the target
+    private List<Food> foods;
+    private int difficulty = 1; // 1..10, interpreted by the strategy
+    // What setDifficulty(1) picks, so a new player's strategy matches its difficulty
+    private AIStrategy strategy = new WeightedStrategy(DifficultyTable.forLevel(1));
+    // Set once setStrategy() picks one; difficulty no longer swaps it then
+    private boolean strategyChosen;
+    private AIStrategy fallback = new GreedyStrategy();
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
 
     public AIPlayer(String name, int sx, int sy, Food food) {
         // Inheritance: Calls superclass constructor
@@ -23,71 +48,70 @@ public class AIPlayer extends Player {
     }
 
     // Polymorphism (Inclusion): Overrides move() for AI behavior
+    // The strategy decides within the budget; the fallback covers give-ups and timeouts.
     @Override
     public void move() {
         Snake snake = getSnake();
-        Direction current = snake.getDirection();
-        Point head = snake.getBody().peekFirst().getPosition();
-        int dx = food.getLocation().x - head.x;
-        int dy = food.getLocation().y - head.y;
-        Direction primary, secondary;
-        if (Math.abs(dx) > Math.abs(dy)) {
-            primary = dx < 0 ? Direction.LEFT : Direction.RIGHT;
-            secondary = dy < 0 ? Direction.UP : Direction.DOWN;
-        } else {
-            primary = dy < 0 ? Direction.UP : Direction.DOWN;
-            secondary = dx < 0 ? Direction.LEFT : Direction.RIGHT;
+        Food food = target(snake);
+        long start = System.nanoTime();
+        Direction chosen = strategy.decide(snake, food, difficulty, start + budgetNanos);
+        long cost = System.nanoTime() - start;
+        DecisionProfiler.record(strategy.getName(), cost, cost > budgetNanos);
+        if (chosen == null) {
+            start = System.nanoTime();
+            chosen = fallback.decide(snake, food, difficulty, PathFinder.NO_DEADLINE);
+            DecisionProfiler.record(fallback.getName(), System.nanoTime() - start, false);
         }
-        Direction chosen = chooseSafeDirection(snake, current, primary, secondary);
-        snake.setDirection(chosen);
+        if (chosen != null) snake.setDirection(chosen);
         snake.move();
     }
 
-    // Abstraction: Hides direction selection logic
-    private Direction chooseSafeDirection(Snake snake, Direction current,
-                                         Direction d1, Direction d2) {
-        Direction[] candidates = {
-            d1, d2, current,
-            (d1 == Direction.LEFT || d1 == Direction.RIGHT)
-                ? (dyPreferred(current) ? Direction.UP : Direction.DOWN)
-                : (dxPreferred(current) ? Direction.LEFT : Direction.RIGHT)
-        };
-        for (Direction d : candidates) {
-            if (d != current.opposite() && !wouldSelfCollide(snake, d)) {
-                return d;
-            }
-        }
-        return current;
-    }
-
-    // Encapsulation: Hides collision check logic
-    private boolean wouldSelfCollide(Snake snake, Direction dir) {
-        Point head = snake.getBody().peekFirst().getPosition();
-        Point next = switch (dir) {
-            case UP    -> new Point(head.x, head.y - 1);
-            case DOWN  -> new Point(head.x, head.y + 1);
-            case LEFT  -> new Point(head.x - 1, head.y);
-            case RIGHT -> new Point(head.x + 1, head.y);
-        };
-        for (Segment seg : snake.getBody()) {
-            if (seg.getPosition().equals(next)) {
-                return true;
+    // Abstraction: The food item closest to the head (Manhattan distance)
+    private Food target(Snake snake) {
+        if (foods == null || foods.isEmpty()) return food;
+        Food best = food;
+        int bestDist = Integer.MAX_VALUE;
+        for (int i = 0; i < foods.size(); i++) {
+            Food f = foods.get(i);
+            int d = Math.abs(f.getLocation().x - snake.headX()) + Math.abs(f.getLocation().y - snake.headY());
+            if (f.getLocation().x >= 0 && d < bestDist) {
+                best = f;
+                bestDist = d;
             }
         }
-        return false;
+        return best;
     }
 
-    private boolean dxPreferred(Direction dir) {
-        return dir == Direction.LEFT || dir == Direction.RIGHT;
+    // Encapsulation: Strategy, fallback and budget are configurable per player
+    public void setStrategy(AIStrategy strategy) {
+        this.strategy = strategy;
+        this.strategyChosen = true;
     }
 
-    private boolean dyPreferred(Direction dir) {
-        return dir == Direction.UP || dir == Direction.DOWN;
-    }
+    public AIStrategy getStrategy() { return strategy; }
+    public void setFallback(AIStrategy fallback) { this.fallback = fallback; }
+    public void setBudgetNanos(long budgetNanos) { this.budgetNanos = Math.max(0, budgetNanos); }
+    public long getBudgetNanos() { return budgetNanos; }
+    public Food getFood() { return food; }
+    public void setFoods(List<Food> foods) { this.foods = foods; }
 
     // Encapsulation: Added for coercion polymorphism example
+    // A default player gets the tuned WeightedStrategy for the level, or MctsStrategy at the
+    // hardest levels (one instance per player, it keeps a tree)
     public void setDifficulty(int difficulty) {
         this.difficulty = Math.max(1, Math.min(10, difficulty));
-        // Hypothetical: Adjust AI behavior based on difficulty
+        if (strategyChosen) return;
+        if (this.difficulty < MCTS_DIFFICULTY) {
+            strategy = new WeightedStrategy(DifficultyTable.forLevel(this.difficulty));
+        } else if (!(strategy instanceof MctsStrategy)) {
+            strategy = new MctsStrategy();
+        }
+    }
+
+    public int getDifficulty() { return difficulty; }
+
+    // The level for CPU players in a game, from -Dsnake.aiDifficulty or GAME_DIFFICULTY
+    public static int configuredDifficulty() {
+        return Integer.getInteger("snake.aiDifficulty", GAME_DIFFICULTY);
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,9 @@ package player;
 import core.Movable;
 import enums.ControlType;
 import enums.Direction;
+import util.LatencyHistogram;
+import util.Metrics;
+import util.SpscRing;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.Color;
@@ -13,9 +16,22 @@ import java.util.Optional;
  * - Inheritance from Player
  * - Method overriding for behavior
  * - Association: uses ControlType and Direction enums
+ * Key presses travel from the EDT to the game thread through a lock-free ring. Each tick
+ * applies the oldest press that is an actual turn, so two quick presses become two turns
+ * on consecutive ticks instead of the second overwriting the first, and a press that would
+ * reverse the snake into itself is dropped.
  */
 public class HumanPlayer extends Player {
-    private Direction nextDir;
+    // Presses that can wait for later ticks; more than this within a few ticks are dropped
+    private static final int INPUT_CAPACITY = 4;
+
+    // A key press and when it happened (System.nanoTime())
+    private record Input(Direction direction, long pressedAt) {}
+
+    private final SpscRing<Input> inputs = new SpscRing<>(INPUT_CAPACITY);
+    // Game thread only: set by steer(), e.g. by a replay or a network peer
+    private Direction steered;
+    private final LatencyHistogram inputLatency = new LatencyHistogram();
     private final ControlType controls;
 
     public HumanPlayer(String name, int sx, int sy, ControlType controls, Color snakeColor) {
@@ -25,10 +41,43 @@ public class HumanPlayer extends Player {
 
     @Override
     public void move() {
-        if (nextDir != null) getSnake().setDirection(nextDir);
+        Direction current = getSnake().getDirection();
+        Direction next = steered != null ? steered : nextTurn(current);
+        steered = null;
+        if (next != null && next != current.opposite()) getSnake().setDirection(next);
         getSnake().move();
     }
 
+    // Drains presses that would not change the heading; the first real turn is applied
+    private Direction nextTurn(Direction current) {
+        Input in;
+        while ((in = inputs.poll()) != null) {
+            if (in.direction() == current || in.direction() == current.opposite()) continue;
+            long latency = System.nanoTime() - in.pressedAt();
+            inputLatency.record(latency);
+            Metrics.record(Metrics.Probe.INPUT, latency);
+            return in.direction();
+        }
+        return null;
+    }
+
+    // Polymorphism (Inclusion): Human input is buffered until the next tick
+    // Must be called on the game thread; key presses go through the input ring instead
+    @Override
+    public void steer(Direction dir) {
+        steered = dir;
+    }
+
+    // Time from a key press to the tick that turned the snake
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    // Runs on the EDT, the ring's only producer
+    private void press(Direction dir) {
+        inputs.offer(new Input(dir, System.nanoTime()));
+    }
+
     public Optional<KeyAdapter> getKeyAdapter() {
         return Optional.of(new KeyAdapter() {
             @Override
@@ -36,22 +85,22 @@ public class HumanPlayer extends Player {
                 switch (controls) {
                     case ARROWS -> {
                         switch (e.getKeyCode()) {
-                            case KeyEvent.VK_UP:    nextDir = Direction.UP;    break;
-                            case KeyEvent.VK_DOWN:  nextDir = Direction.DOWN;  break;
-                            case KeyEvent.VK_LEFT:  nextDir = Direction.LEFT;  break;
-                            case KeyEvent.VK_RIGHT: nextDir = Direction.RIGHT; break;
+                            case KeyEvent.VK_UP:    press(Direction.UP);    break;
+                            case KeyEvent.VK_DOWN:  press(Direction.DOWN);  break;
+                            case KeyEvent.VK_LEFT:  press(Direction.LEFT);  break;
+                            case KeyEvent.VK_RIGHT: press(Direction.RIGHT); break;
                         }
                     }
                     case WASD -> {
                         switch (e.getKeyCode()) {
-                            case KeyEvent.VK_W:     nextDir = Direction.UP;    break;
-                            case KeyEvent.VK_S:     nextDir = Direction.DOWN;  break;
-                            case KeyEvent.VK_A:     nextDir = Direction.LEFT;  break;
-                            case KeyEvent.VK_D:     nextDir = Direction.RIGHT; break;
+                            case KeyEvent.VK_W:     press(Direction.UP);    break;
+                            case KeyEvent.VK_S:     press(Direction.DOWN);  break;
+                            case KeyEvent.VK_A:     press(Direction.LEFT);  break;
+                            case KeyEvent.VK_D:     press(Direction.RIGHT); break;
                         }
                     }
                 }
             }
         });
     }
-}
\ No newline at end of file
+}
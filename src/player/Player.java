@@ -3,6 +3,7 @@ package player;
 import core.Snake;
 import java.awt.Color;
 import core.Movable;
+import enums.Direction;
 
 /**
  * Abstract class demonstrating:
@@ -27,6 +28,12 @@ public abstract class Player implements Movable {
     @Override
     public abstract void move();
 
+    // Abstraction: Requests a new heading, applied on the next move(). Input sources
+    // (keyboard, network, replay) steer players through this single entry point.
+    public void steer(Direction dir) {
+        snake.setDirection(dir);
+    }
+
     // Encapsulation via getters
     public Snake getSnake() { return snake; }
     public String getName() { return name; }
@@ -0,0 +1,120 @@
+package replay;
+
+import core.ArenaGameMode;
+import core.Board;
+import core.GameMode;
+import core.GameRandom;
+import core.GameState;
+import core.StandardGameMode;
+import enums.Direction;
+import player.AIPlayer;
+import player.Player;
+import util.VarInts;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.awt.Point;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReplayHeader describes how a recorded game was set up: the seed, board size, game mode,
+ * food count and the players with their start cells and headings. It is everything needed
+ * to rebuild the initial GameState; the input stream that follows it does the rest.
+ * Demonstrates immutability (a record) and encapsulation of the binary layout.
+ */
+public record ReplayHeader(long seed, int cols, int rows, int mode, int foodCount, List<PlayerInfo> players) {
+    // "SNKR" in ASCII
+    static final int MAGIC = 0x534E4B52;
+    // Version 2 files may contain checkpoint records; the header itself is unchanged.
+    // Version 3 spawns food by free-cell rank, so older files no longer replay the same way.
+    // Version 4 adds the game mode; version 3 files are standard games.
+    static final int VERSION = 4;
+    static final int MIN_VERSION = 3;
+    // Game modes; an arena placed every seat with ArenaGameMode.spawnPoint, in seat order
+    public static final int STANDARD = 0;
+    public static final int ARENA = 1;
+
+    /** One seat in the recorded game. */
+    public record PlayerInfo(String name, boolean ai, int startX, int startY, Direction direction) {}
+
+    // Abstraction: Captures the setup of a state that has not been stepped yet
+    public static ReplayHeader of(GameState state) {
+        List<PlayerInfo> infos = new ArrayList<>();
+        for (Player p : state.getPlayers()) {
+            infos.add(new PlayerInfo(p.getName(), p instanceof AIPlayer,
+                                     p.getSnake().headX(), p.getSnake().headY(),
+                                     p.getSnake().getDirection()));
+        }
+        GameMode mode = state.getGameMode();
+        return new ReplayHeader(state.getRandom().getSeed(), state.getBoard().getCols(),
+                                state.getBoard().getRows(), mode instanceof ArenaGameMode ? ARENA : STANDARD,
+                                mode.getFoodCount(), List.copyOf(infos));
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        VarInts.writeVarInt(out, cols);
+        VarInts.writeVarInt(out, rows);
+        out.writeByte(mode);
+        VarInts.writeVarInt(out, foodCount);
+        VarInts.writeVarInt(out, players.size());
+        for (PlayerInfo p : players) {
+            out.writeUTF(p.name() == null ? "" : p.name());
+            out.writeByte((p.ai() ? 0x80 : 0) | p.direction().ordinal());
+            VarInts.writeVarInt(out, p.startX());
+            VarInts.writeVarInt(out, p.startY());
+        }
+    }
+
+    // Exception Handling: Rejects anything that is not a replay of a known version
+    public static ReplayHeader read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a replay file");
+        int version = in.readUnsignedByte();
+        if (version < MIN_VERSION || version > VERSION) throw new IOException("Unsupported replay version " + version);
+        long seed = in.readLong();
+        int cols = VarInts.readVarInt(in);
+        int rows = VarInts.readVarInt(in);
+        int mode = version >= 4 ? in.readUnsignedByte() : STANDARD;
+        if (mode != STANDARD && mode != ARENA) throw new IOException("Unknown game mode " + mode);
+        int foodCount = VarInts.readVarInt(in);
+        int count = VarInts.readVarInt(in);
+        List<PlayerInfo> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            int flags = in.readUnsignedByte();
+            int x = VarInts.readVarInt(in);
+            int y = VarInts.readVarInt(in);
+            players.add(new PlayerInfo(name, (flags & 0x80) != 0, x, y,
+                                       Direction.values()[flags & 0x03]));
+        }
+        return new ReplayHeader(seed, cols, rows, mode, foodCount, List.copyOf(players));
+    }
+
+    /**
+     * Rebuilds the initial state in the same order the recorded game was built (state,
+     * then players, then GameMode.initialize), so the generator draws line up; in an arena
+     * each seat's spawn point is drawn again before it is added. Every seat becomes a
+     * ScriptedPlayer driven by the recorded directions.
+     */
+    public GameState newGame() throws IOException {
+        GameMode gameMode = mode == ARENA ? new ArenaGameMode(foodCount) : new StandardGameMode(foodCount);
+        Board board = new Board(cols, rows, 30);
+        GameState state = new GameState(board, gameMode, new GameRandom(seed));
+        for (PlayerInfo p : players) {
+            if (mode == ARENA) {
+                Point at = ArenaGameMode.spawnPoint(board, state.getRandom());
+                if (at == null || at.x != p.startX() || at.y != p.startY()) {
+                    throw new IOException("Arena spawn of " + p.name() + " does not match the recording");
+                }
+            }
+            ScriptedPlayer sp = new ScriptedPlayer(p.name(), p.startX(), p.startY(), p.ai());
+            sp.getSnake().setDirection(p.direction());
+            state.addPlayer(sp);
+        }
+        gameMode.initialize(state);
+        return state;
+    }
+}
@@ -0,0 +1,180 @@
+package replay;
+
+import core.GameCheckpoint;
+import core.GameListener;
+import core.GameState;
+import enums.Direction;
+import player.Player;
+import util.VarInts;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ReplayRecorder writes a compact replay of a game: the ReplayHeader, then one event per
+ * direction change as varint(ticks since previous event), varint((seat + 1) << 2 | direction),
+ * and finally varint(ticks to the end), varint(0). Ticks with no change cost nothing, so a
+ * typical game needs a few bytes per turn rather than per tick. It listens to the GameState
+ * and records the heading each snake actually moved in during GameMode.update, so replays
+ * do not depend on the AI or input code that produced them.
+ * With a checkpoint interval K, every K ticks it also writes a GameCheckpoint as the event
+ * varint(delta), varint(CHECKPOINT), varint(length), payload, and after the end marker an
+ * index of (tick, payload offset) pairs followed by its own offset and INDEX_MAGIC, which is
+ * what lets ReplaySeeker jump to any tick while re-simulating fewer than K ticks.
+ * Demonstrates composition (attached as a GameListener) and exception handling.
+ */
+public class ReplayRecorder implements GameListener, Closeable {
+    // Event code of a checkpoint record; direction events start at (1 + 1) << 2
+    static final int CHECKPOINT = 1;
+    // "SNKI" in ASCII, the last four bytes of a replay that has a checkpoint index
+    static final int INDEX_MAGIC = 0x534E4B49;
+
+    private final DataOutputStream out;
+    private final Direction[] last;
+    private final boolean closeOnFinish;
+    private final int checkpointInterval;
+    // Checkpoint index: ticks and payload offsets, in recording order
+    private long[] indexTicks = new long[16];
+    private long[] indexOffsets = new long[16];
+    private int indexSize;
+    private final ByteArrayOutputStream checkpointBuffer = new ByteArrayOutputStream();
+    private long lastEventTick;
+    private boolean finished;
+
+    private ReplayRecorder(DataOutputStream out, Direction[] last, boolean closeOnFinish,
+                           int checkpointInterval) {
+        this.out = out;
+        this.last = last;
+        this.closeOnFinish = closeOnFinish;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Writes the header for a state that has all its players but has not been stepped yet,
+     * and starts listening to it.
+     */
+    public static ReplayRecorder attach(GameState state, OutputStream sink) throws IOException {
+        return attach(state, sink, false);
+    }
+
+    // Overloaded: optionally closes the sink once the end marker has been written
+    public static ReplayRecorder attach(GameState state, OutputStream sink, boolean closeOnFinish)
+            throws IOException {
+        return attach(state, sink, closeOnFinish, 0);
+    }
+
+    // Overloaded: also writes a checkpoint every checkpointInterval ticks (0 disables them)
+    public static ReplayRecorder attach(GameState state, OutputStream sink, boolean closeOnFinish,
+                                        int checkpointInterval) throws IOException {
+        if (checkpointInterval < 0) throw new IllegalArgumentException("checkpointInterval < 0");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(sink));
+        ReplayHeader.of(state).write(out);
+        List<Player> players = state.getPlayers();
+        Direction[] last = new Direction[players.size()];
+        for (int i = 0; i < last.length; i++) last[i] = players.get(i).getSnake().getDirection();
+        ReplayRecorder recorder = new ReplayRecorder(out, last, closeOnFinish, checkpointInterval);
+        state.addListener(recorder);
+        return recorder;
+    }
+
+    // Runs after GameMode.update: the directions now set are the ones used for tick getTick() - 1
+    // Synchronized, like finish() and close(): a UI may end the recording from another thread
+    @Override
+    public synchronized void onTick(GameState state) {
+        if (finished) return;
+        try {
+            long tick = state.getTick() - 1;
+            List<Player> players = state.getPlayers();
+            for (int i = 0; i < last.length; i++) {
+                Direction d = players.get(i).getSnake().getDirection();
+                if (d != last[i]) {
+                    VarInts.writeVarLong(out, tick - lastEventTick);
+                    VarInts.writeVarInt(out, ((i + 1) << 2) | d.ordinal());
+                    lastEventTick = tick;
+                    last[i] = d;
+                }
+            }
+            if (!state.isRunning()) {
+                finish(state.getTick());
+            } else if (checkpointInterval > 0 && state.getTick() % checkpointInterval == 0) {
+                writeCheckpoint(state);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // A checkpoint at tick T holds the state before step T, so it is keyed like T's events
+    private void writeCheckpoint(GameState state) throws IOException {
+        long tick = state.getTick();
+        checkpointBuffer.reset();
+        GameCheckpoint.write(state, new DataOutputStream(checkpointBuffer));
+        VarInts.writeVarLong(out, tick - lastEventTick);
+        VarInts.writeVarInt(out, CHECKPOINT);
+        VarInts.writeVarInt(out, checkpointBuffer.size());
+        lastEventTick = tick;
+        if (indexSize == indexTicks.length) {
+            indexTicks = Arrays.copyOf(indexTicks, indexSize * 2);
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+        }
+        indexTicks[indexSize] = tick;
+        indexOffsets[indexSize] = out.size();
+        indexSize++;
+        checkpointBuffer.writeTo(out);
+    }
+
+    // The final tick's moves arrive in onTick, which finishes the replay
+    @Override
+    public void onGameOver(GameState state, Player loser) {}
+
+    // Ends the replay at the given tick count, for games stopped without a game over
+    public synchronized void finish(long ticks) {
+        if (finished) return;
+        finished = true;
+        try {
+            VarInts.writeVarLong(out, Math.max(0, ticks - lastEventTick));
+            VarInts.writeVarInt(out, 0);
+            if (indexSize > 0) writeIndex();
+            out.flush();
+            if (closeOnFinish) out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // varint count, then delta-coded (tick, offset) pairs, then the index offset and INDEX_MAGIC
+    private void writeIndex() throws IOException {
+        long indexOffset = out.size();
+        VarInts.writeVarInt(out, indexSize);
+        long prevTick = 0, prevOffset = 0;
+        for (int i = 0; i < indexSize; i++) {
+            VarInts.writeVarLong(out, indexTicks[i] - prevTick);
+            VarInts.writeVarLong(out, indexOffsets[i] - prevOffset);
+            prevTick = indexTicks[i];
+            prevOffset = indexOffsets[i];
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(INDEX_MAGIC);
+    }
+
+    // Bytes written so far
+    public synchronized int size() {
+        return out.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // Exception Handling: A broken sink stops recording; it must never stop the game
+    private void fail(IOException e) {
+        finished = true;
+        System.err.println("Replay recording stopped: " + e.getMessage());
+    }
+}
@@ -0,0 +1,136 @@
+package replay;
+
+import core.GameCheckpoint;
+import core.GameState;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import util.VarInts;
+
+/**
+ * ReplaySeeker gives random access to a replay file. It reads the checkpoint index from the
+ * end of the file, and seek(tick) restores the last checkpoint at or before the tick and
+ * re-simulates the remaining ticks, so a seek costs a binary search plus fewer than K ticks
+ * (the recording's checkpoint interval) however long the game is. Seeking forward from the
+ * current position just keeps stepping when that is closer than the next checkpoint.
+ * Replays without an index still work, they are simply re-simulated from the start.
+ * Demonstrates composition (it drives a ReplayPlayer) and exception handling.
+ */
+public class ReplaySeeker implements Closeable {
+    private final FileChannel channel;
+    private final ReplayHeader header;
+    private final long[] checkpointTicks;
+    private final long[] checkpointOffsets;
+    private ReplayPlayer player;
+
+    public ReplaySeeker(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.header = ReplayHeader.read(streamAt(0));
+            ByteBuffer index = readIndex();
+            int count = index == null ? 0 : VarInts.readVarInt(index);
+            checkpointTicks = new long[count];
+            checkpointOffsets = new long[count];
+            long tick = 0, offset = 0;
+            for (int i = 0; i < count; i++) {
+                checkpointTicks[i] = tick += VarInts.readVarLong(index);
+                checkpointOffsets[i] = offset += VarInts.readVarLong(index);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // The index bytes, or null if the file ends without INDEX_MAGIC
+    private ByteBuffer readIndex() throws IOException {
+        long size = channel.size();
+        if (size < 12) return null;
+        ByteBuffer trailer = ByteBuffer.allocate(12);
+        channel.read(trailer, size - 12);
+        trailer.flip();
+        long indexOffset = trailer.getLong();
+        if (trailer.getInt() != ReplayRecorder.INDEX_MAGIC || indexOffset < 0
+                || indexOffset > size - 12) {
+            return null;
+        }
+        ByteBuffer index = ByteBuffer.allocate((int) (size - 12 - indexOffset));
+        channel.read(index, indexOffset);
+        return index.flip();
+    }
+
+    // The stream reads from the channel's position, which every stream shares. That is safe
+    // only because one stream is live at a time: a new one replaces the player that read the
+    // old one, and readIndex uses positional reads that leave the position alone
+    private DataInputStream streamAt(long position) throws IOException {
+        return new DataInputStream(new BufferedInputStream(
+            Channels.newInputStream(channel.position(position))));
+    }
+
+    /**
+     * Moves to the state before step {@code tick} (or the final state if the recording ends
+     * earlier) and returns it. The returned state is owned by the seeker and changes on the
+     * next seek.
+     */
+    public GameState seek(long tick) throws IOException {
+        int k = lastCheckpointAtOrBefore(tick);
+        long checkpointTick = k < 0 ? 0 : checkpointTicks[k];
+        long current = player == null ? -1 : player.getState().getTick();
+        if (current > tick || current < checkpointTick) {
+            player = k < 0 ? new ReplayPlayer(streamAt(0)) : restore(k);
+        }
+        while (player.getState().getTick() < tick && player.step()) {
+            // re-simulate the ticks after the checkpoint
+        }
+        return player.getState();
+    }
+
+    private ReplayPlayer restore(int k) throws IOException {
+        DataInputStream in = streamAt(checkpointOffsets[k]);
+        GameState state = header.newGame();
+        GameCheckpoint.restore(state, in);
+        return new ReplayPlayer(header, state, in);
+    }
+
+    // Binary search over the index: the last checkpoint at or before tick, or -1
+    private int lastCheckpointAtOrBefore(long tick) {
+        int lo = 0, hi = checkpointTicks.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (checkpointTicks[mid] <= tick) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    public ReplayHeader getHeader() { return header; }
+    public int getCheckpointCount() { return checkpointTicks.length; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Usage: ReplaySeeker <replay file> <tick>
+    public static void main(String[] args) throws IOException {
+        try (ReplaySeeker seeker = new ReplaySeeker(Paths.get(args[0]))) {
+            long start = System.nanoTime();
+            GameState state = seeker.seek(Long.parseLong(args[1]));
+            System.out.printf("At tick %d after %.2f ms (%d checkpoints)%n", state.getTick(),
+                              (System.nanoTime() - start) / 1e6, seeker.getCheckpointCount());
+            state.getPlayers().forEach(p -> System.out.println(
+                p.getName() + ": " + p.getScore() + " (length " + p.getSnake().length() + ")"));
+        }
+    }
+}
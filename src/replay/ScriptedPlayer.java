@@ -0,0 +1,20 @@
+package replay;
+
+import player.Player;
+import java.awt.Color;
+
+/**
+ * ScriptedPlayer is a Player whose heading comes entirely from outside (a replay, a
+ * network peer). Demonstrates inheritance and polymorphism (inclusion): move() just
+ * advances the snake in whatever direction steer() last set.
+ */
+public class ScriptedPlayer extends Player {
+    public ScriptedPlayer(String name, int sx, int sy, boolean ai) {
+        super(name, sx, sy, ai ? Color.MAGENTA : Color.GREEN);
+    }
+
+    @Override
+    public void move() {
+        getSnake().move();
+    }
+}
@@ -0,0 +1,90 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram records nanosecond latencies into log-linear buckets, in the spirit of
+ * HdrHistogram: every power of two is split into 8 sub-buckets, so any recorded value is
+ * reported to within 12.5% while the whole long range fits in 512 counters.
+ * Demonstrates encapsulation (bucket layout is hidden) and thread safety: record() is
+ * lock-free and may be called from many game threads at once.
+ */
+public class LatencyHistogram {
+    // Encapsulation: Bucket layout constants
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    // Abstraction: Records one latency sample in nanoseconds; negative values count as 0
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(v));
+        total.incrementAndGet();
+        sum.addAndGet(v);
+        long m;
+        while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+            // retry until our sample is no longer the maximum
+        }
+    }
+
+    public long getCount() { return total.get(); }
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Returns the value at the given percentile (0..100), as the upper bound of the bucket
+     * that contains it, or 0 if nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBoundOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    // Clears all samples; concurrent records may survive partially, which is fine for stats
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                             getCount(), getMean() / 1e3, getPercentile(50) / 1e3,
+                             getPercentile(99) / 1e3, getMax() / 1e3);
+    }
+
+    // Values below 8 get exact buckets; above, the top 3 bits after the leading one pick the sub-bucket
+    private static int bucketOf(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exp = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (1L << exp) | (sub << (exp - SUB_BUCKET_BITS));
+        return lower + (1L << (exp - SUB_BUCKET_BITS)) - 1;
+    }
+}
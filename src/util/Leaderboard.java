@@ -0,0 +1,163 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Leaderboard keeps player scores ordered by score, so the best players, a player's rank
+ * and score ranges can be read without sorting. Scores are held twice: a hash map from
+ * name to score, and a skip list of (score, name) entries ordered best first. A Fenwick
+ * tree counting players per score answers rank queries in O(log maxScore).
+ * Demonstrates encapsulation and thread safety: updates to one player are serialized by
+ * the hash map's per-key lock, updates to different players run in parallel, and readers
+ * never block. A reader racing an update may briefly see a player at the old or the new
+ * score, but never at both.
+ */
+public class Leaderboard {
+    /** One row of the board; the natural order is best score first, then name. */
+    public record Entry(String name, int score) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            int c = Integer.compare(o.score, score);
+            return c != 0 ? c : name.compareTo(o.name);
+        }
+    }
+
+    // Encapsulation: The two views of the same scores
+    private final Map<String, Integer> scores = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>();
+    // Players per score, as a Fenwick tree over scores 0..length-1; it doubles as scores grow,
+    // up to MAX_INDEXED_SCORE. Higher scores are rare and sit at the top, so rankOf walks them.
+    private static final int MAX_INDEXED_SCORE = 1 << 20;
+    private volatile AtomicIntegerArray counts = new AtomicIntegerArray(1024 + 1);
+    private final Object countsLock = new Object();
+
+    // Adds delta to a player's score, never going below 0, in O(log n). Returns the new score.
+    public int add(String name, int delta) {
+        return scores.compute(name, (n, old) -> {
+            int score = Math.max(0, (old == null ? 0 : old) + delta);
+            reorder(n, old, score);
+            return score;
+        });
+    }
+
+    // Sets a player's score in O(log n); like add, it never goes below 0
+    public void put(String name, int score) {
+        int clamped = Math.max(0, score);
+        scores.compute(name, (n, old) -> {
+            reorder(n, old, clamped);
+            return clamped;
+        });
+    }
+
+    public void remove(String name) {
+        scores.computeIfPresent(name, (n, old) -> {
+            ranking.remove(new Entry(n, old));
+            count(old, -1);
+            return null;
+        });
+    }
+
+    // Runs under the player's map lock, so no other update can interleave for that name
+    private void reorder(String name, Integer old, int score) {
+        if (old != null) {
+            if (old == score) return;
+            ranking.remove(new Entry(name, old));
+            count(old, -1);
+        }
+        ranking.add(new Entry(name, score));
+        count(score, 1);
+    }
+
+    // Writers to different players meet here only for the few tree updates, and to grow it
+    private void count(int score, int delta) {
+        if (score >= MAX_INDEXED_SCORE) return;
+        synchronized (countsLock) {
+            AtomicIntegerArray c = counts;
+            if (score + 1 >= c.length()) counts = c = grow(c, score);
+            for (int i = score + 1; i < c.length(); i += i & -i) c.addAndGet(i, delta);
+        }
+    }
+
+    // Doubling a Fenwick tree keeps every node; of the new ones only each new power of two
+    // covers old cells, and it covers all of them
+    private static AtomicIntegerArray grow(AtomicIntegerArray c, int score) {
+        int size = c.length() - 1;
+        int total = prefix(c, size);
+        int bigSize = size;
+        while (score + 1 > bigSize) bigSize *= 2;
+        AtomicIntegerArray bigger = new AtomicIntegerArray(bigSize + 1);
+        for (int i = 1; i < c.length(); i++) bigger.set(i, c.get(i));
+        for (int p = size * 2; p <= bigSize; p *= 2) bigger.set(p, total);
+        return bigger;
+    }
+
+    // Players scoring 0..n-1
+    private static int prefix(AtomicIntegerArray c, int n) {
+        int sum = 0;
+        for (int i = Math.min(n, c.length() - 1); i > 0; i -= i & -i) sum += c.get(i);
+        return sum;
+    }
+
+    // The player's score, or null if the player is unknown
+    public Integer getScore(String name) {
+        return scores.get(name);
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    // The k best entries, best first
+    public List<Entry> top(int k) {
+        List<Entry> out = new ArrayList<>(Math.min(k, 64));
+        Iterator<Entry> it = ranking.iterator();
+        while (out.size() < k && it.hasNext()) {
+            out.add(it.next());
+        }
+        return out;
+    }
+
+    /**
+     * The player's 1-based rank: one more than the number of players with a higher score,
+     * so tied players share a rank. O(log maxScore); -1 if the player is unknown.
+     */
+    public int rankOf(String name) {
+        Integer score = scores.get(name);
+        if (score == null) return -1;
+        // "" sorts before every name, so this is everyone scoring more
+        if (score >= MAX_INDEXED_SCORE) return ranking.headSet(new Entry("", score), false).size() + 1;
+        AtomicIntegerArray c = counts;
+        int indexed = prefix(c, c.length() - 1);
+        int above = ranking.isEmpty() || ranking.first().score() < MAX_INDEXED_SCORE ? 0
+                  : ranking.headSet(new Entry("", MAX_INDEXED_SCORE - 1), false).size();
+        return indexed - prefix(c, score + 1) + above + 1;
+    }
+
+    // Entries with minScore <= score <= maxScore, best first
+    public List<Entry> range(int minScore, int maxScore) {
+        List<Entry> out = new ArrayList<>();
+        // "" sorts before every name, so this starts at the first entry scoring maxScore or less
+        for (Entry e : ranking.tailSet(new Entry("", maxScore), true)) {
+            if (e.score() < minScore) break;
+            out.add(e);
+        }
+        return out;
+    }
+
+    // A point-in-time copy as name -> score, best first
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        for (Entry e : ranking) {
+            out.put(e.name(), e.score());
+        }
+        return out;
+    }
+}
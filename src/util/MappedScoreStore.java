@@ -0,0 +1,357 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * MappedScoreStore keeps scores in a memory-mapped file of fixed 64-byte records laid out
+ * as an open-addressing hash table on the player name (linear probing). Opening a store
+ * maps the file and reads a 64-byte header, so startup does not depend on the number of
+ * players; lookups compare the name against the mapped bytes and updates write the score
+ * in place, without copying records onto the heap. The operating system writes dirty
+ * pages back on its own; force() or close() makes them durable.
+ * Record layout: int name hash (0 marks an empty slot), int score, byte name length,
+ * then up to MAX_NAME_BYTES of UTF-8. The table doubles once it is 70% full, in place:
+ * the bigger table is built in scratch space past the end of the file and copied down,
+ * so the file is never replaced while it is mapped (which Windows refuses). The header's
+ * pending-capacity field makes an interrupted copy redo itself on the next open.
+ * Demonstrates encapsulation of a binary layout and exception handling. Thread-safe:
+ * every method synchronizes on the store.
+ */
+public class MappedScoreStore implements Closeable {
+    // "SNKS" in ASCII
+    private static final int MAGIC = 0x534E4B53;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    // Header fields
+    private static final int CAPACITY_AT = 8, SIZE_AT = 12, PENDING_AT = 16;
+    // Bytes per copy step while growing; never more than the smallest table
+    private static final int COPY_CHUNK = 64 * 1024;
+    private static final int RECORD_BYTES = 64;
+    // Offsets inside a record
+    private static final int HASH = 0, SCORE = 4, NAME_LENGTH = 8, NAME = 9;
+    public static final int MAX_NAME_BYTES = RECORD_BYTES - NAME;
+    private static final int MIN_CAPACITY = 1024;
+    // Keeps the mapping and every record offset within an int: 16M records, about 11M players
+    private static final int MAX_CAPACITY = 1 << 24;
+    private static final double MAX_LOAD = 0.7;
+
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private int capacity;
+    private int size;
+
+    private MappedScoreStore() {}
+
+    // Opens the store, creating an empty one if the file does not exist yet
+    public static MappedScoreStore open(Path file) throws IOException {
+        return open(file, MIN_CAPACITY);
+    }
+
+    // Overloaded: a new store starts with room for expectedPlayers without growing
+    public static MappedScoreStore open(Path file, int expectedPlayers) throws IOException {
+        MappedScoreStore store = new MappedScoreStore();
+        if (Files.exists(file) && Files.size(file) > 0) {
+            store.map(file);
+        } else {
+            createEmpty(file, capacityFor(expectedPlayers));
+            store.map(file);
+        }
+        return store;
+    }
+
+    private static int capacityFor(int players) {
+        long needed = (long) Math.ceil(Math.max(players, 1) / MAX_LOAD);
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed && capacity < MAX_CAPACITY) capacity <<= 1;
+        return capacity;
+    }
+
+    private static void createEmpty(Path target, int capacity) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileChannel ch = FileChannel.open(target, StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                               StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_WRITE, 0,
+                                        HEADER_BYTES + (long) capacity * RECORD_BYTES);
+            m.putInt(0, MAGIC);
+            m.putInt(4, VERSION);
+            m.putInt(CAPACITY_AT, capacity);
+            m.putInt(SIZE_AT, 0);
+            m.force();
+        }
+    }
+
+    // Exception Handling: Rejects files that are not stores or were cut short
+    private void map(Path source) throws IOException {
+        FileChannel ch = FileChannel.open(source, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Read, not mapped: a file with a live mapping cannot be truncated on Windows
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && ch.read(header, header.position()) > 0) {}
+            if (header.hasRemaining()) throw new IOException("Not a score store: " + source);
+            if (header.getInt(0) != MAGIC) throw new IOException("Not a score store: " + source);
+            if (header.getInt(4) != VERSION) throw new IOException("Unsupported score store version");
+            int cap = header.getInt(CAPACITY_AT);
+            int pending = header.getInt(PENDING_AT);
+            if (pending != 0) {
+                // A grow stopped while copying; its scratch table is complete, so copy again
+                if (Integer.bitCount(pending) != 1 || pending > MAX_CAPACITY
+                        || ch.size() < HEADER_BYTES + 2L * pending * RECORD_BYTES) {
+                    throw new IOException("Corrupt score store: " + source);
+                }
+                finishGrow(ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) pending * RECORD_BYTES),
+                           scratch(ch, pending), pending);
+                cap = pending;
+            }
+            long length = HEADER_BYTES + (long) cap * RECORD_BYTES;
+            if (Integer.bitCount(cap) != 1 || cap > MAX_CAPACITY || ch.size() < length) {
+                throw new IOException("Corrupt score store: " + source);
+            }
+            // Scratch space left over from growing goes, unless a redone copy still maps it
+            if (ch.size() > length && pending == 0) ch.truncate(length);
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            channel = ch;
+            map = m;
+            capacity = cap;
+            size = m.getInt(SIZE_AT);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // The player's score, or null if the player is unknown
+    public synchronized Integer getScore(String name) {
+        byte[] key = encode(name);
+        int slot = find(key, hash(key));
+        return slot >= 0 ? map.getInt(offset(slot) + SCORE) : null;
+    }
+
+    // Adds delta to a player's score, never going below 0. Returns the new score.
+    public synchronized int add(String name, int delta) throws IOException {
+        byte[] key = encode(name);
+        int h = hash(key);
+        int slot = find(key, h);
+        if (slot >= 0) {
+            int at = offset(slot) + SCORE;
+            int score = Math.max(0, map.getInt(at) + delta);
+            map.putInt(at, score);
+            return score;
+        }
+        int score = Math.max(0, delta);
+        insert(key, h, score);
+        return score;
+    }
+
+    // Sets a player's score
+    public synchronized void put(String name, int score) throws IOException {
+        byte[] key = encode(name);
+        int h = hash(key);
+        int slot = find(key, h);
+        if (slot >= 0) {
+            map.putInt(offset(slot) + SCORE, score);
+        } else {
+            insert(key, h, score);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Calls action for every player, in table order
+    public synchronized void forEach(ObjIntConsumer<String> action) {
+        byte[] buf = new byte[MAX_NAME_BYTES];
+        for (int slot = 0; slot < capacity; slot++) {
+            int at = offset(slot);
+            if (map.getInt(at + HASH) == 0) continue;
+            int len = map.get(at + NAME_LENGTH) & 0xFF;
+            map.get(at + NAME, buf, 0, len);
+            action.accept(new String(buf, 0, len, StandardCharsets.UTF_8), map.getInt(at + SCORE));
+        }
+    }
+
+    // Removes every player, keeping the file's current capacity
+    public synchronized void clear() {
+        for (int slot = 0; slot < capacity; slot++) {
+            map.putInt(offset(slot) + HASH, 0);
+        }
+        size = 0;
+        map.putInt(SIZE_AT, 0);
+    }
+
+    // Writes dirty pages to the device
+    public synchronized void force() {
+        map.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) return;
+        map.force();
+        channel.close();
+        channel = null;
+    }
+
+    // Abstraction: Linear probe from the hash's home slot; returns the slot or -1 if absent
+    private int find(byte[] key, int h) {
+        int mask = capacity - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int at = offset(slot);
+            int stored = map.getInt(at + HASH);
+            if (stored == 0) return -1;
+            if (stored == h && nameEquals(at, key)) return slot;
+        }
+    }
+
+    // Zero-copy comparison against the mapped name bytes
+    private boolean nameEquals(int at, byte[] key) {
+        if ((map.get(at + NAME_LENGTH) & 0xFF) != key.length) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (map.get(at + NAME + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    private void insert(byte[] key, int h, int score) throws IOException {
+        if (size + 1 > capacity * MAX_LOAD) grow();
+        int mask = capacity - 1;
+        int slot = h & mask;
+        while (map.getInt(offset(slot) + HASH) != 0) slot = (slot + 1) & mask;
+        int at = offset(slot);
+        map.putInt(at + SCORE, score);
+        map.put(at + NAME_LENGTH, (byte) key.length);
+        map.put(at + NAME, key);
+        // The hash goes in last: it is what marks the slot as taken
+        map.putInt(at + HASH, h);
+        map.putInt(SIZE_AT, ++size);
+    }
+
+    // Rehashes into scratch space past the new table's end, then copies it into place.
+    // Stored hashes mean no name is re-read.
+    private void grow() throws IOException {
+        if (capacity >= MAX_CAPACITY) throw new IOException("Score store is full");
+        int bigger = capacity << 1;
+        MappedByteBuffer dst = scratch(channel, bigger);
+        for (int i = 0; i < dst.capacity(); i += 8) dst.putLong(i, 0);
+        int mask = bigger - 1;
+        for (int slot = 0; slot < capacity; slot++) {
+            int at = offset(slot);
+            int h = map.getInt(at + HASH);
+            if (h == 0) continue;
+            int to = h & mask;
+            while (dst.getInt(to * RECORD_BYTES + HASH) != 0) to = (to + 1) & mask;
+            dst.put(to * RECORD_BYTES, map, at, RECORD_BYTES);
+        }
+        dst.force();
+        // From here on the bigger table is complete on disk, and an open finishes the copy
+        map.putInt(PENDING_AT, bigger);
+        map.force();
+        MappedByteBuffer m = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) bigger * RECORD_BYTES);
+        finishGrow(m, dst, bigger);
+        map = m;
+        capacity = bigger;
+    }
+
+    // The table-sized scratch region right after a table of the given capacity
+    private static MappedByteBuffer scratch(FileChannel ch, int capacity) throws IOException {
+        long tableBytes = (long) capacity * RECORD_BYTES;
+        return ch.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + tableBytes, tableBytes);
+    }
+
+    // Copies a scratch table over the live one and makes it current; safe to repeat
+    private static void finishGrow(MappedByteBuffer m, MappedByteBuffer scratch, int capacity) {
+        int tableBytes = capacity * RECORD_BYTES;
+        for (int i = 0; i < tableBytes; i += COPY_CHUNK) {
+            m.put(HEADER_BYTES + i, scratch, i, Math.min(COPY_CHUNK, tableBytes - i));
+        }
+        m.force();
+        m.putInt(CAPACITY_AT, capacity);
+        m.putInt(PENDING_AT, 0);
+        m.force();
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+
+    private static byte[] encode(String name) {
+        if (name == null) throw new IllegalArgumentException("Player name must not be null");
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name longer than " + MAX_NAME_BYTES + " bytes");
+        }
+        return key;
+    }
+
+    // FNV-1a with the high bits folded in; never 0, which marks empty slots
+    private static int hash(byte[] key) {
+        int h = 0x811C9DC5;
+        for (byte b : key) {
+            h = (h ^ (b & 0xFF)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * One-shot importer from the "name: score" text format. The store is sized from a
+     * first pass over the file, so the import never has to grow the table.
+     */
+    public static MappedScoreStore importText(Path text, Path target) throws IOException {
+        return importText(List.of(text), target);
+    }
+
+    // Overloaded: later files win, e.g. the snapshot followed by its journal of newer totals.
+    // Missing files are skipped.
+    public static MappedScoreStore importText(List<Path> texts, Path target) throws IOException {
+        long lines = 0;
+        for (Path text : texts) {
+            if (Files.notExists(text)) continue;
+            try (var stream = Files.lines(text, StandardCharsets.UTF_8)) {
+                lines += stream.count();
+            }
+        }
+        Files.deleteIfExists(target);
+        MappedScoreStore store = open(target, (int) Math.min(lines, Integer.MAX_VALUE));
+        for (Path text : texts) {
+            if (Files.notExists(text)) continue;
+            try (BufferedReader r = Files.newBufferedReader(text, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    ScoreManager.parseLine(line, (name, score) -> {
+                        try {
+                            store.put(name, score);
+                        } catch (IllegalArgumentException | IOException e) {
+                            System.err.println("Skipped " + name + ": " + e.getMessage());
+                        }
+                    });
+                }
+            }
+        }
+        store.force();
+        return store;
+    }
+
+    // Usage: MappedScoreStore <scores.txt> <scores.bin>
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        try (MappedScoreStore store = importText(Paths.get(args[0]), Paths.get(args[1]))) {
+            System.out.printf("Imported %d players in %.1f ms%n", store.size(),
+                              (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
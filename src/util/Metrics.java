@@ -0,0 +1,180 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics is the process-wide instrumentation surface for the hot path: one latency
+ * histogram per Probe, one per player for the cost of its move, and the bytes allocated by
+ * the threads that run ticks. Call sites bracket work with start() and stop(); while
+ * metrics are disabled start() returns 0 after a single volatile read and stop() returns
+ * at once, so the probes can stay in the tick path permanently.
+ * Published over JMX as snake:type=Metrics (see MetricsMXBean).
+ * Demonstrates encapsulation of a process-wide registry and thread safety.
+ */
+public final class Metrics {
+    /** The instrumented sections of a tick and a frame. */
+    public enum Probe {
+        TICK("tick"),
+        UPDATE("gameMode.update"),
+        MOVE("player.move"),
+        COLLISION("board.checkCollision"),
+        FOOD("board.checkFood"),
+        PAINT("paint"),
+        INPUT("input.latency");
+
+        private final String label;
+
+        Probe(String label) {
+            this.label = label;
+        }
+
+        public String label() { return label; }
+    }
+
+    private static final LatencyHistogram[] PROBES = new LatencyHistogram[Probe.values().length];
+    private static final Map<String, LatencyHistogram> PLAYERS = new ConcurrentHashMap<>();
+    private static final AtomicLong ALLOCATED = new AtomicLong();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+    private static volatile boolean enabled = Boolean.getBoolean("snake.metrics");
+    private static boolean registered;
+
+    static {
+        for (int i = 0; i < PROBES.length; i++) PROBES[i] = new LatencyHistogram();
+    }
+
+    private Metrics() {}
+
+    public static boolean isEnabled() { return enabled; }
+
+    public static void setEnabled(boolean on) { enabled = on; }
+
+    // Abstraction: Opens a measurement; 0 means "not measuring"
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    // Closes a measurement opened by start()
+    public static void stop(Probe probe, long start) {
+        if (start != 0) PROBES[probe.ordinal()].record(System.nanoTime() - start);
+    }
+
+    // Records a latency measured elsewhere, e.g. from a key press to the tick that applied it
+    public static void record(Probe probe, long nanos) {
+        if (enabled) PROBES[probe.ordinal()].record(nanos);
+    }
+
+    // Closes a player's move: recorded both under MOVE and under the player's name
+    public static void stopMove(String player, long start) {
+        if (start == 0) return;
+        long nanos = System.nanoTime() - start;
+        PROBES[Probe.MOVE.ordinal()].record(nanos);
+        PLAYERS.computeIfAbsent(String.valueOf(player), k -> new LatencyHistogram()).record(nanos);
+    }
+
+    // Bytes allocated so far by the calling thread, or 0 if disabled or unsupported
+    public static long threadAllocatedBytes() {
+        return enabled && THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    // Adds what the calling thread allocated since threadAllocatedBytes() returned before
+    public static void addAllocated(long before) {
+        if (before == 0) return;
+        long after = THREADS.getCurrentThreadAllocatedBytes();
+        if (after > before) ALLOCATED.addAndGet(after - before);
+    }
+
+    public static LatencyHistogram histogram(Probe probe) {
+        return PROBES[probe.ordinal()];
+    }
+
+    // Read-only copy of the per-player move histograms, sorted by name
+    public static Map<String, LatencyHistogram> players() {
+        return new TreeMap<>(PLAYERS);
+    }
+
+    // Bytes allocated inside measured ticks since the last reset
+    public static long allocatedBytes() {
+        return ALLOCATED.get();
+    }
+
+    public static void reset() {
+        for (LatencyHistogram h : PROBES) h.reset();
+        PLAYERS.clear();
+        ALLOCATED.set(0);
+    }
+
+    // One line per probe, then one per player
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Probe p : Probe.values()) {
+            sb.append(String.format("%-22s %s%n", p.label(), histogram(p)));
+        }
+        for (Map.Entry<String, LatencyHistogram> e : players().entrySet()) {
+            sb.append(String.format("move[%s] %s%n", e.getKey(), e.getValue()));
+        }
+        sb.append("allocated in ticks: ").append(allocatedBytes()).append(" bytes\n");
+        return sb.toString();
+    }
+
+    /**
+     * Registers the MXBean once per process. Exception Handling: a JVM without a platform
+     * MBean server still gets metrics, just not over JMX.
+     */
+    public static synchronized void registerMBean() {
+        if (registered) return;
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new MBean(), new ObjectName(MetricsMXBean.OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            System.err.println("Metrics not published over JMX: " + e.getMessage());
+        }
+    }
+
+    // Allocation counters are a HotSpot extension of ThreadMXBean
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun
+                && sun.isThreadAllocatedMemorySupported()) {
+            sun.setThreadAllocatedMemoryEnabled(true);
+            return sun;
+        }
+        return null;
+    }
+
+    // Information Hiding: The JMX view of this class
+    private static final class MBean implements MetricsMXBean {
+        @Override public boolean isEnabled() { return Metrics.isEnabled(); }
+        @Override public void setEnabled(boolean on) { Metrics.setEnabled(on); }
+        @Override public Map<String, Long> getCounts() { return collect(-1); }
+        @Override public Map<String, Long> getP50Nanos() { return collect(50); }
+        @Override public Map<String, Long> getP99Nanos() { return collect(99); }
+        @Override public Map<String, Long> getMaxNanos() { return collect(100); }
+        @Override public long getAllocatedBytes() { return Metrics.allocatedBytes(); }
+        @Override public String getReport() { return Metrics.report(); }
+        @Override public void reset() { Metrics.reset(); }
+
+        // Probes by label and players as move[name]; percentile -1 means sample count
+        private static Map<String, Long> collect(double percentile) {
+            Map<String, Long> out = new TreeMap<>();
+            for (Probe p : Probe.values()) out.put(p.label(), value(histogram(p), percentile));
+            for (Map.Entry<String, LatencyHistogram> e : PLAYERS.entrySet()) {
+                out.put("move[" + e.getKey() + "]", value(e.getValue(), percentile));
+            }
+            return out;
+        }
+
+        private static long value(LatencyHistogram h, double percentile) {
+            if (percentile < 0) return h.getCount();
+            return percentile >= 100 ? h.getMax() : h.getPercentile(percentile);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package util;
+
+import java.util.Map;
+
+/**
+ * JMX view of Metrics, e.g. for JConsole or VisualVM. Maps are keyed by probe label
+ * ("tick", "gameMode.update", ...) and by "move[player name]".
+ */
+public interface MetricsMXBean {
+    String OBJECT_NAME = "snake:type=Metrics";
+
+    boolean isEnabled();
+    void setEnabled(boolean on);
+
+    Map<String, Long> getCounts();
+    Map<String, Long> getP50Nanos();
+    Map<String, Long> getP99Nanos();
+    Map<String, Long> getMaxNanos();
+    long getAllocatedBytes();
+    String getReport();
+
+    void reset();
+}
@@ -3,25 +3,121 @@ package util;
 import javax.swing.*;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
 
 /**
  * ScoreManager handles score persistence, demonstrating encapsulation, information hiding,
  * polymorphism (overloading, parametric), and exception handling.
+ * Scores live in an in-memory Leaderboard, so an update is an O(log n) reorder plus a
+ * queue offer. A background writer appends each change to a journal in batches, forcing
+ * every batch to disk, and once the journal holds COMPACT_EVERY records it rewrites the
+ * snapshot file and empties the journal. The game thread and the EDT never touch the disk.
+ * Journal records are the new total ("name: score", the snapshot's own format) rather
+ * than the delta, so replaying a journal over a snapshot that already contains some of
+ * its records gives the same table; that is what makes compaction crash-safe.
+ * With -Dsnake.scoreStore=mapped scores live in a MappedScoreStore instead, updated in
+ * place, so startup no longer reads every player; the text files (snapshot, then journal)
+ * are imported once. The Leaderboard is then only built when first asked for.
  */
 public class ScoreManager {
     // Encapsulation: Private static field for file path
     private static final Path SCORE_FILE = Paths.get("resources/player_scores.txt");
+    private static final Path JOURNAL_FILE = Paths.get("resources/player_scores.journal");
+    private static final Path STORE_FILE = Paths.get("resources/player_scores.bin");
+    private static final boolean MAPPED = "mapped".equals(System.getProperty("snake.scoreStore"));
+    // Journal records written before the snapshot is rewritten and the journal emptied
+    private static final int COMPACT_EVERY = 512;
+    // Queue markers, never valid records: WAKE_UP after save(), STOP from shutdown()
+    private static final String WAKE_UP = "\0wake-up";
+    private static final String STOP = "\0stop";
 
-    // Abstraction & Information Hiding: Hides file loading logic
+    // Information Hiding: The table and its writer start on first use
+    private static final class Store {
+        static final Leaderboard scores = new Leaderboard();
+        // Names of players whose score changed; the writer journals their current score
+        static final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+        static final Thread writer = new Thread(ScoreManager::writeLoop, "score-journal");
+        // Written and read only by the writer thread, or after it has stopped
+        static int journalRecords;
+        static volatile boolean compactRequested;
+        static volatile boolean closed;
+
+        static {
+            Map<String, Integer> stored = new LinkedHashMap<>();
+            readInto(SCORE_FILE, stored);
+            journalRecords = readInto(JOURNAL_FILE, stored);
+            stored.forEach(scores::put);
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(ScoreManager::shutdown, "score-journal-close"));
+        }
+    }
+
+    // Information Hiding: The mapped backend, opened on first use
+    private static final class Mapped {
+        static final MappedScoreStore store = openStore();
+        // Built from the store by the first leaderboard() call, then kept in sync; guarded by Mapped.class
+        static Leaderboard board;
+
+        static {
+            if (store != null) {
+                Runtime.getRuntime().addShutdownHook(new Thread(ScoreManager::shutdown, "score-store-close"));
+            }
+        }
+    }
+
+    // Exception Handling: A store that cannot be opened falls back to the text backend
+    private static MappedScoreStore openStore() {
+        try {
+            // The journal holds totals newer than the snapshot, e.g. after a crash before compaction
+            if (Files.notExists(STORE_FILE) && (Files.exists(SCORE_FILE) || Files.exists(JOURNAL_FILE))) {
+                return MappedScoreStore.importText(List.of(SCORE_FILE, JOURNAL_FILE), STORE_FILE);
+            }
+            return MappedScoreStore.open(STORE_FILE);
+        } catch (IOException e) {
+            System.err.println("Score store unavailable, using " + SCORE_FILE + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean useMapped() {
+        return MAPPED && Mapped.store != null;
+    }
+
+    // Abstraction & Information Hiding: Returns a copy of the current scores, best first
     // Parametric Polymorphism: Uses Map<String, Integer> for type safety
     public static Map<String, Integer> load() {
-        return load(SCORE_FILE);
+        return leaderboard().toMap();
+    }
+
+    // The live, ordered scores, for top-K and rank queries
+    public static Leaderboard leaderboard() {
+        if (!useMapped()) return Store.scores;
+        synchronized (Mapped.class) {
+            if (Mapped.board == null) {
+                Leaderboard board = new Leaderboard();
+                Mapped.store.forEach(board::put);
+                Mapped.board = board;
+            }
+            return Mapped.board;
+        }
     }
 
     // Polymorphism (Overloading): Overloaded method for custom file path
@@ -30,16 +126,7 @@ public class ScoreManager {
         Map<String, Integer> map = new LinkedHashMap<>();
         try {
             for (String line : Files.readAllLines(filePath)) {
-                String[] parts = line.split(":");
-                if (parts.length != 2) {
-                    System.err.println("Invalid score format: " + line);
-                    continue;
-                }
-                try {
-                    map.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
-                } catch (NumberFormatException e) {
-                    System.err.println("Invalid score value: " + parts[1]);
-                }
+                parseLine(line, map::put);
             }
         } catch (IOException e) {
             // Exception Handling: User feedback via JOptionPane
@@ -49,25 +136,62 @@ public class ScoreManager {
         return map;
     }
 
-    // Abstraction: Hides file saving logic
+    // Quiet variant used at startup: a missing file is just an empty table. Returns the line count.
+    private static int readInto(Path filePath, Map<String, Integer> map) {
+        try {
+            List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                parseLine(line, map::put);
+            }
+            return lines.size();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Failed to load scores from " + filePath + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // Package-private: Shared with the MappedScoreStore importer
+    static void parseLine(String line, BiConsumer<String, Integer> sink) {
+        int colon = line.lastIndexOf(':');
+        if (colon < 0) {
+            if (!line.isBlank()) System.err.println("Invalid score format: " + line);
+            return;
+        }
+        try {
+            sink.accept(line.substring(0, colon).trim(), Integer.parseInt(line.substring(colon + 1).trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid score value: " + line.substring(colon + 1));
+        }
+    }
+
+    // Abstraction: Replaces the whole table; the snapshot is rewritten in the background
     public static void save(Map<String, Integer> map) {
         save(map, false);
     }
 
-    // Polymorphism (Overloading): Overloaded method with append option
-    // Exception Handling: Uses try-with-resources for safe file handling
+    // Polymorphism (Overloading): With append the entries are merged into the table instead
     public static void save(Map<String, Integer> map, boolean append) {
-        try (BufferedWriter w = Files.newBufferedWriter(
-                SCORE_FILE,
-                append ? StandardOpenOption.APPEND : StandardOpenOption.CREATE)) {
-            for (Map.Entry<String, Integer> e : map.entrySet()) {
-                w.write(e.getKey() + ": " + e.getValue());
-                w.newLine();
+        if (useMapped()) {
+            synchronized (Mapped.class) {
+                if (!append) Mapped.store.clear();
+                for (Map.Entry<String, Integer> e : map.entrySet()) {
+                    writeMapped(e.getKey(), e.getValue(), false);
+                }
+                Mapped.store.force();
+                Mapped.board = null;
+            }
+            return;
+        }
+        if (!append) {
+            for (String name : Store.scores.toMap().keySet()) {
+                if (!map.containsKey(name)) Store.scores.remove(name);
             }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(null, "Failed to save scores: " + e.getMessage(),
-                                          "Error", JOptionPane.ERROR_MESSAGE);
         }
+        map.forEach(Store.scores::put);
+        Store.compactRequested = true;
+        Store.pending.offer(WAKE_UP);
     }
 
     // Abstraction: Hides score update logic
@@ -75,12 +199,123 @@ public class ScoreManager {
         updateScore(player, delta, true);
     }
 
-    // Polymorphism (Overloading): Overloaded method with persistence option
+    // Polymorphism (Overloading): Without persistImmediately the change reaches disk with the next snapshot
+    // The mapped store is written in place either way and reaches disk with the page cache
     public static void updateScore(String player, int delta, boolean persistImmediately) {
-        Map<String, Integer> scores = load();
-        scores.put(player, Math.max(0, scores.getOrDefault(player, 0) + delta));
-        if (persistImmediately) {
-            save(scores);
+        if (player == null) throw new IllegalArgumentException("Player name must not be null");
+        if (useMapped()) {
+            synchronized (Mapped.class) {
+                writeMapped(player, delta, true);
+            }
+            return;
+        }
+        Store.scores.add(player, delta);
+        if (persistImmediately) Store.pending.offer(player);
+    }
+
+    // Exception Handling: A failed write is reported and the game goes on; caller holds Mapped.class
+    private static void writeMapped(String player, int value, boolean isDelta) {
+        try {
+            int score = value;
+            if (isDelta) {
+                score = Mapped.store.add(player, value);
+            } else {
+                Mapped.store.put(player, value);
+            }
+            if (Mapped.board != null) Mapped.board.put(player, score);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to save score for " + player + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes everything queued so far, compacts the journal into the snapshot and stops
+     * the writer. Runs automatically when the JVM exits; later updates stay in memory only.
+     */
+    public static void shutdown() {
+        if (useMapped()) {
+            try {
+                Mapped.store.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close score store: " + e.getMessage());
+            }
+            return;
+        }
+        if (Store.closed) return;
+        Store.closed = true;
+        // A marker rather than an interrupt, which would close the journal channel mid-write
+        Store.pending.offer(STOP);
+        try {
+            Store.writer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Background writer: one fsync per batch, whatever the batch size
+    private static void writeLoop() {
+        List<String> batch = new ArrayList<>();
+        try (FileChannel journal = openJournal()) {
+            boolean stopping = false;
+            while (!stopping) {
+                try {
+                    batch.add(Store.pending.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Store.pending.drainTo(batch);
+                stopping = batch.contains(STOP);
+                append(journal, batch);
+                if (stopping || Store.compactRequested || Store.journalRecords >= COMPACT_EVERY) {
+                    compact(journal);
+                }
+            }
+        } catch (IOException e) {
+            // Exception Handling: Scores keep working in memory if the disk fails
+            System.err.println("Score journal stopped: " + e.getMessage());
+        }
+    }
+
+    private static FileChannel openJournal() throws IOException {
+        Files.createDirectories(JOURNAL_FILE.toAbsolutePath().getParent());
+        return FileChannel.open(JOURNAL_FILE, StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // The score is read at write time, so a record is never older than the update that queued it
+    private static void append(FileChannel journal, List<String> batch) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String name : new LinkedHashSet<>(batch)) {
+            Integer score = Store.scores.getScore(name);
+            if (score == null || name.equals(WAKE_UP) || name.equals(STOP)) continue;
+            sb.append(name).append(": ").append(score).append('\n');
+            Store.journalRecords++;
+        }
+        batch.clear();
+        if (sb.length() == 0) return;
+        ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) journal.write(bytes);
+        journal.force(false);
+    }
+
+    // Rewrites the snapshot through a temporary file, then empties the journal
+    private static void compact(FileChannel journal) throws IOException {
+        Store.compactRequested = false;
+        Path tmp = SCORE_FILE.resolveSibling(SCORE_FILE.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING);
+             BufferedWriter w = new BufferedWriter(Channels.newWriter(out, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, Integer> e : Store.scores.toMap().entrySet()) {
+                w.write(e.getKey() + ": " + e.getValue());
+                w.newLine();
+            }
+            w.flush();
+            out.force(true);
         }
+        Files.move(tmp, SCORE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal.truncate(0);
+        journal.force(true);
+        Store.journalRecords = 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SpscRing is a bounded, lock-free queue for exactly one producer thread and one consumer
+ * thread, e.g. the EDT handing key presses to the game thread. Each side owns one index:
+ * the producer publishes a slot by advancing tail with a release store, the consumer frees
+ * it by advancing head, so neither side ever waits for the other or takes a lock.
+ * Demonstrates encapsulation and parametric polymorphism (generics).
+ */
+public class SpscRing<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    // Written only by the consumer / only by the producer
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Capacity is rounded up to a power of two
+    public SpscRing(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    // Producer only: returns false, dropping e, when the ring is full
+    public boolean offer(E e) {
+        long t = tail.get();
+        if (t - head.get() > mask) return false;
+        slots.lazySet((int) t & mask, e);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumer only: the oldest element, or null if the ring is empty
+    public E poll() {
+        long h = head.get();
+        if (h == tail.get()) return null;
+        int i = (int) h & mask;
+        E e = slots.get(i);
+        slots.lazySet(i, null);
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    // Consumer only: the oldest element without removing it
+    public E peek() {
+        long h = head.get();
+        return h == tail.get() ? null : slots.get((int) h & mask);
+    }
+
+    // Approximate when called concurrently with offer or poll
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * VarInts encodes non-negative integers in 7-bit groups, low bits first, with the top bit
+ * of each byte marking that more follow. Small values (tick deltas, coordinates, player
+ * indices) take a single byte. Signed values go through zig-zag encoding first.
+ * Demonstrates polymorphism (overloading) across stream and buffer targets.
+ */
+public final class VarInts {
+    private VarInts() {}
+
+    public static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    // Exception Handling: A value longer than 10 bytes means the input is corrupt
+    public static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static int readVarInt(DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    // Polymorphism (Overloading): Same encoding on NIO buffers
+    public static void writeVarLong(ByteBuffer buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    public static void writeVarInt(ByteBuffer buf, int value) {
+        writeVarLong(buf, value & 0xFFFFFFFFL);
+    }
+
+    public static long readVarLong(ByteBuffer buf) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = buf.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public static int readVarInt(ByteBuffer buf) {
+        return (int) readVarLong(buf);
+    }
+
+    // Zig-zag: maps 0, -1, 1, -2, ... to 0, 1, 2, 3, ... so small negatives stay short
+    public static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
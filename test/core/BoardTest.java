@@ -0,0 +1,149 @@
+package core;
+
+import enums.Direction;
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardTest {
+    // A snake of the given length lying left of (x, y), head at (x, y), heading right
+    private static Snake snake(Board board, int x, int y, int length) {
+        Snake s = new Snake(x - length + 1, y, Color.GREEN);
+        board.attach(s);
+        for (int i = 1; i < length; i++) {
+            s.grow();
+            s.move();
+        }
+        return s;
+    }
+
+    private static void steer(Snake s, Direction... moves) {
+        for (Direction d : moves) {
+            s.setDirection(d);
+            s.move();
+        }
+    }
+
+    @Test
+    void occupancyFollowsTheBody() {
+        Board board = new Board(10, 10, 30);
+        Snake s = snake(board, 4, 5, 3);
+        for (int x = 2; x <= 4; x++) assertEquals(s.getId(), board.occupantAt(x, 5));
+        s.move();
+        assertEquals(0, board.occupantAt(2, 5), "tail cell is vacated");
+        assertEquals(s.getId(), board.occupantAt(5, 5));
+        assertFalse(board.checkCollision(s));
+    }
+
+    @Test
+    void runningIntoYourselfIsACollision() {
+        Board board = new Board(10, 10, 30);
+        Snake s = snake(board, 5, 5, 5);
+        steer(s, Direction.DOWN, Direction.LEFT, Direction.UP);
+        assertTrue(board.checkCollision(s));
+    }
+
+    // The tail leaves its cell before the head arrives
+    @Test
+    void chasingYourOwnTailIsLegal() {
+        Board board = new Board(10, 10, 30);
+        Snake s = snake(board, 5, 5, 4);
+        steer(s, Direction.DOWN, Direction.LEFT, Direction.UP);
+        assertFalse(board.checkCollision(s));
+    }
+
+    @Test
+    void runningIntoAnotherSnakeIsACollision() {
+        Board board = new Board(10, 10, 30);
+        Snake a = snake(board, 5, 5, 4);
+        Snake b = snake(board, 3, 3, 1);
+        steer(b, Direction.DOWN, Direction.DOWN);
+        assertTrue(board.checkCollision(b));
+        assertFalse(board.checkCollision(a));
+        assertEquals(a.getId(), board.occupantAt(3, 5), "the cell hit keeps its owner");
+    }
+
+    @Test
+    void leavingTheBoardIsACollision() {
+        Board board = new Board(10, 10, 30);
+        Snake s = snake(board, 9, 0, 2);
+        assertFalse(board.checkCollision(s));
+        s.move();
+        assertTrue(board.checkCollision(s));
+    }
+
+    @Test
+    void detachFreesTheBodyButNotCellsItHit() {
+        Board board = new Board(10, 10, 30);
+        Snake a = snake(board, 5, 5, 4);
+        Snake b = snake(board, 3, 3, 2);
+        steer(b, Direction.DOWN, Direction.DOWN);
+        board.detach(b);
+        assertTrue(b.isEliminated());
+        assertEquals(0, board.occupantAt(3, 4));
+        assertEquals(a.getId(), board.occupantAt(3, 5));
+    }
+
+    @Test
+    void unattachedSnakesAreRejected() {
+        Board board = new Board(10, 10, 30);
+        assertThrows(IllegalStateException.class, () -> board.checkCollision(new Snake(1, 1, Color.GREEN)));
+        Board other = new Board(10, 10, 30);
+        Snake s = snake(other, 2, 2, 1);
+        assertThrows(IllegalStateException.class, () -> board.checkCollision(s));
+    }
+
+    @Test
+    void randomFreeCellsAreFreeAndCoverEveryFreeCell() {
+        Board board = new Board(6, 5, 30);
+        snake(board, 4, 2, 5);
+        board.placeFood(0);
+        board.placeFood(29);
+        Set<Integer> free = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            if (board.occupantAt(i % 6, i / 6) == 0) free.add(i);
+        }
+        assertEquals(free.size(), board.getFreeCellCount());
+        GameRandom rnd = new GameRandom(1);
+        Set<Integer> drawn = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            int cell = board.randomFreeCell(rnd);
+            assertTrue(free.contains(cell), "drew cell " + cell);
+            drawn.add(cell);
+        }
+        assertEquals(free, drawn);
+    }
+
+    @Test
+    void aFullBoardHasNoFreeCell() {
+        Board board = new Board(3, 1, 30);
+        snake(board, 1, 0, 2);
+        board.placeFood(2);
+        assertEquals(0, board.getFreeCellCount());
+        assertEquals(-1, board.randomFreeCell(new GameRandom(1)));
+        board.removeFood(2);
+        assertEquals(2, board.randomFreeCell(new GameRandom(1)));
+    }
+
+    // Checkpoints store occupancy only, so the order cells were freed in must not matter
+    @Test
+    void drawsDependOnlyOnWhichCellsAreFree() {
+        Board churned = new Board(8, 8, 30);
+        for (int i = 0; i < 20; i++) churned.placeFood(i * 3);
+        for (int i = 19; i >= 0; i--) {
+            if (i % 4 != 0) churned.removeFood(i * 3);
+        }
+        Board fresh = new Board(8, 8, 30);
+        for (int i = 0; i < 20; i += 4) fresh.placeFood(i * 3);
+        GameRandom a = new GameRandom(5), b = new GameRandom(5);
+        for (int i = 0; i < 200; i++) {
+            assertEquals(fresh.randomFreeCell(b), churned.randomFreeCell(a), "draw " + i);
+        }
+    }
+}
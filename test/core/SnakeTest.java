@@ -0,0 +1,72 @@
+package core;
+
+import enums.Direction;
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SnakeTest {
+    // The body as a plain deque of packed cells, head first, moved by the same rules
+    private static void assertBody(Deque<Integer> expected, Snake s) {
+        assertEquals(expected.size(), s.length());
+        Iterator<Integer> it = expected.iterator();
+        for (int i = 0; i < s.length(); i++) assertEquals(it.next(), s.cellAt(i), "cell " + i);
+    }
+
+    @Test
+    void packKeepsNegativeCoordinates() {
+        int cell = Snake.pack(-1, -1);
+        assertEquals(-1, Snake.unpackX(cell));
+        assertEquals(-1, Snake.unpackY(cell));
+        assertEquals(123, Snake.unpackX(Snake.pack(123, 456)));
+        assertEquals(456, Snake.unpackY(Snake.pack(123, 456)));
+    }
+
+    // Long enough to make the ring wrap and double several times
+    @Test
+    void ringMatchesADequeWhileGrowingAndWrapping() {
+        Snake s = new Snake(0, 0, Color.GREEN);
+        Deque<Integer> body = new ArrayDeque<>();
+        body.add(Snake.pack(0, 0));
+        Direction[] path = {Direction.RIGHT, Direction.DOWN, Direction.LEFT, Direction.DOWN};
+        int x = 0, y = 0;
+        for (int step = 0; step < 2_000; step++) {
+            Direction d = path[(step / 7) % path.length];
+            s.setDirection(d);
+            boolean grow = step % 3 == 0;
+            if (grow) s.grow();
+            s.move();
+            switch (d) {
+                case UP    -> y--;
+                case DOWN  -> y++;
+                case LEFT  -> x--;
+                case RIGHT -> x++;
+            }
+            body.addFirst(Snake.pack(x, y));
+            if (!grow) body.removeLast();
+            assertEquals(x, s.headX());
+            assertEquals(y, s.headY());
+        }
+        assertBody(body, s);
+        assertEquals(body.size(), s.getBody().size());
+        assertEquals(s.xAt(s.length() - 1), s.getBody().getLast().getPosition().x);
+    }
+
+    @Test
+    void restoreReplacesTheBody() {
+        Snake s = new Snake(0, 0, Color.GREEN);
+        int[] cells = new int[40];
+        for (int i = 0; i < cells.length; i++) cells[i] = Snake.pack(40 - i, 3);
+        s.restore(cells, Direction.RIGHT, true, false);
+        Deque<Integer> body = new ArrayDeque<>();
+        for (int c : cells) body.add(c);
+        assertBody(body, s);
+        s.move();
+        body.addFirst(Snake.pack(41, 3));
+        assertBody(body, s);
+    }
+}
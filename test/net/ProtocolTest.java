@@ -0,0 +1,241 @@
+package net;
+
+import core.ArenaGameMode;
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import org.junit.jupiter.api.Test;
+import player.AIPlayer;
+import util.VarInts;
+import java.awt.Point;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Puts the network code through the cases that have broken it before, over loopback or
+ * straight through the codecs:
+ *   malformed frames: each kind of broken client frame closes that connection only,
+ *   and the server keeps serving a well-behaved client.
+ *   resets during a broadcast: connections dropped while the server writes to everyone
+ *   do not take the server down.
+ *   delta round trip: a seeded arena run through several rounds, with seats joining
+ *   mid-round, is broadcast the way GameServer does it; every keyframe must decode, and
+ *   every delta applied to the client's copy of its base, to the state that was encoded.
+ */
+class ProtocolTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+    // Acked states a delta is tried against, as counted back from the newest
+    private static final int[] ACK_LAGS = {1, 2, 3, 7, 31};
+    private static final int ROUNDS = 6;
+    private static final int MAX_ROUND_TICKS = 600;
+    // A seat joins the running round this often
+    private static final int JOIN_EVERY = 45;
+
+    // Each payload is framed and sent on a connection of its own
+    @Test
+    void malformedFramesCloseOnlyTheirConnection() throws Exception {
+        byte[][] payloads = {
+            // Varint with no last byte: VarInts gives up after ten and throws unchecked
+            {Protocol.PING, -128, -128, -128, -128, -128, -128, -128, -128, -128, -128, -128},
+            {Protocol.HELLO, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+            // Cut short: the buffer underflows
+            {Protocol.INPUT, 5},
+            {Protocol.STATE_ACK},
+            // Well-formed varints, bad values
+            {Protocol.INPUT, 1, 0, 9},
+            {Protocol.HELLO, Protocol.VERSION, 127},
+            {99},
+        };
+        try (GameServer server = new GameServer(loopback(), 40, 30, 2)) {
+            Thread serverThread = start(server);
+            GameClient good = new GameClient("localhost", server.getPort(), "Good");
+            good.start();
+            try {
+                await(() -> good.getStatesReceived() > 0, "first state");
+                for (byte[] p : payloads) {
+                    sendAndAwaitClose(server.getPort(), p);
+                    assertTrue(serverThread.isAlive(), "Server died on " + describe(p));
+                    long before = good.getStatesReceived();
+                    await(() -> good.getStatesReceived() > before, "states after " + describe(p));
+                }
+                await(() -> server.getConnectionCount() == 1, "broken connections to be dropped");
+                assertTrue(good.isConnected(), "Well-behaved client was dropped");
+            } finally {
+                good.close();
+            }
+        }
+    }
+
+    // A hello makes the server write a roster to everyone; a peer reset during that write
+    // cancels a key the selector may still report in the same pass
+    @Test
+    void resetsDuringARosterBroadcastLeaveTheServerRunning() throws Exception {
+        try (GameServer server = new GameServer(loopback(), 40, 30, 0)) {
+            Thread serverThread = start(server);
+            for (int round = 0; round < 20; round++) {
+                Socket[] spectators = new Socket[8];
+                for (int i = 0; i < spectators.length; i++) {
+                    spectators[i] = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                    spectators[i].getOutputStream().write(hello("Watcher " + i, true));
+                }
+                await(() -> server.getConnectionCount() == spectators.length, "spectators to connect");
+                try (Socket joining = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+                    for (Socket s : spectators) {
+                        s.setSoLinger(true, 0);
+                        s.close();
+                    }
+                    joining.getOutputStream().write(hello("Player " + round, false));
+                    Thread.sleep(20);
+                }
+                await(() -> server.getConnectionCount() == 0 || !serverThread.isAlive(), "connections to close");
+                assertTrue(serverThread.isAlive(), "Server died in round " + round);
+            }
+        }
+    }
+
+    @Test
+    void deltasRoundTripAcrossRoundsAndJoins() throws ProtocolException {
+        for (long seed = 1; seed <= 3; seed++) deltaRoundTrip(seed);
+    }
+
+    private static void deltaRoundTrip(long seed) throws ProtocolException {
+        GameRandom seeds = new GameRandom(seed);
+        // Decoded states by seq, the way the client keeps them
+        RemoteState[] client = new RemoteState[64];
+        long seq = 0, deltas = 0, crossRound = 0;
+        int seats = 4;
+        for (int round = 0; round < ROUNDS; round++) {
+            // Same board every round, as on the server, but seat counts differ as players come and go
+            Board board = new Board(40, 30, 30);
+            ArenaGameMode mode = new ArenaGameMode(board);
+            GameState state = new GameState(board, mode, new GameRandom(seeds.nextLong()));
+            for (int i = 0; i < seats; i++) {
+                if (!join(state, "CPU " + i)) break;
+            }
+            mode.initialize(state);
+            long firstSeq = seq;
+            while (true) {
+                RemoteState current = StateCodec.snapshot(state, seq);
+                RemoteState decoded = StateCodec.decode(payload(StateCodec.encode(current)));
+                check(current, decoded, "keyframe");
+                for (int lag : ACK_LAGS) {
+                    RemoteState base = seq >= lag ? client[(int) ((seq - lag) % client.length)] : null;
+                    if (base == null || !DeltaCodec.canEncode(base, current)) continue;
+                    ByteBuffer delta = payload(DeltaCodec.encode(base, current));
+                    assertEquals(base.seq(), DeltaCodec.baseSeq(delta), "base named by the delta at seq " + seq);
+                    check(current, DeltaCodec.apply(base, delta), "delta from " + lag + " back");
+                    deltas++;
+                    if (base.seq() < firstSeq) crossRound++;
+                }
+                client[(int) (seq % client.length)] = decoded;
+                seq++;
+                if (!state.isRunning() || state.getTick() >= MAX_ROUND_TICKS) break;
+                if (state.getTick() % JOIN_EVERY == JOIN_EVERY - 1) join(state, "Joined " + seq);
+                state.step();
+            }
+            // Everyone still connected plays the next round; on some, two players have left
+            seats = Math.max(2, state.getPlayers().size() - (round % 3 == 2 ? 2 : 0));
+        }
+        assertTrue(deltas > seq, "seed " + seed + " sent too few deltas: " + deltas);
+        assertTrue(crossRound > 0, "seed " + seed + " never sent a delta against the previous round");
+    }
+
+    // Seats a CPU snake the way GameServer seats a client; false on a full board
+    private static boolean join(GameState state, String name) {
+        Point at = ArenaGameMode.spawnPoint(state.getBoard(), state.getRandom());
+        if (at == null) return false;
+        AIPlayer ai = new AIPlayer(name, at.x, at.y, state.getFood());
+        state.addPlayer(ai);
+        ai.setFoods(state.getFoods());
+        return true;
+    }
+
+    // The payload of a frame as the receiving side gets it from Protocol.nextFrame
+    private static ByteBuffer payload(ByteBuffer frame) throws ProtocolException {
+        ByteBuffer payload = Protocol.nextFrame(frame);
+        if (payload == null || frame.hasRemaining()) fail("Frame length is wrong");
+        return payload;
+    }
+
+    private static void check(RemoteState expected, RemoteState actual, String what) {
+        String at = what + " at seq " + expected.seq();
+        assertEquals(expected.seq(), actual.seq(), at);
+        assertEquals(expected.tick(), actual.tick(), at);
+        assertTrue(Arrays.equals(expected.foodCells(), actual.foodCells()), at + ": food");
+        assertEquals(expected.seats().length, actual.seats().length, at + ": seats");
+        for (int i = 0; i < expected.seats().length; i++) {
+            RemoteState.Seat a = expected.seats()[i], b = actual.seats()[i];
+            assertTrue(a.score() == b.score() && a.direction() == b.direction() && a.growing() == b.growing()
+                       && a.eliminated() == b.eliminated() && Arrays.equals(a.cells(), b.cells()),
+                       at + ": seat " + i);
+        }
+    }
+
+    private static byte[] hello(String name, boolean spectator) {
+        ByteBuffer payload = ByteBuffer.allocate(16 + Protocol.MAX_NAME_BYTES);
+        payload.put(Protocol.HELLO);
+        VarInts.writeVarInt(payload, Protocol.VERSION);
+        Protocol.putString(payload, name);
+        payload.put((byte) (spectator ? 1 : 0));
+        ByteBuffer frame = Protocol.frame(payload);
+        return Arrays.copyOf(frame.array(), frame.limit());
+    }
+
+    static InetSocketAddress loopback() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    }
+
+    static Thread start(GameServer server) {
+        Thread t = new Thread(server, "snake-server");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    // The server has to hang up; a connection left open means the frame was accepted
+    private static void sendAndAwaitClose(int port, byte[] payload) throws IOException {
+        try (Socket s = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            s.setSoTimeout((int) TIMEOUT_MILLIS);
+            ByteBuffer frame = Protocol.frame(ByteBuffer.allocate(payload.length).put(payload));
+            s.getOutputStream().write(frame.array(), 0, frame.limit());
+            InputStream in = s.getInputStream();
+            while (in.read() >= 0) {
+                // Anything the server sent before closing is irrelevant here
+            }
+        } catch (SocketTimeoutException e) {
+            fail("Connection left open after " + describe(payload));
+        } catch (SocketException e) {
+            // A reset is a close too
+        }
+    }
+
+    static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) fail("Timed out waiting for " + what);
+            Thread.sleep(10);
+        }
+    }
+
+    private static String describe(byte[] payload) {
+        StringBuilder sb = new StringBuilder("frame [");
+        for (int i = 0; i < payload.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(payload[i] & 0xFF);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,66 @@
+package net;
+
+import core.ArenaGameMode;
+import core.Board;
+import core.GameRandom;
+import core.GameState;
+import enums.Direction;
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RemotePlayerTest {
+    private static RemotePlayer seat(GameState state) {
+        RemotePlayer p = new RemotePlayer("Remote", 20, 15, Color.GREEN, state);
+        state.addPlayer(p);
+        state.getGameMode().initialize(state);
+        return p;
+    }
+
+    private static GameState arena() {
+        Board board = new Board(40, 30, 30);
+        return new GameState(board, new ArenaGameMode(board), new GameRandom(1));
+    }
+
+    @Test
+    void inputWaitsForItsTick() {
+        GameState state = arena();
+        RemotePlayer p = seat(state);
+        p.queue(1, 3, Direction.UP);
+        state.step();
+        state.step();
+        assertEquals(Direction.RIGHT, p.getSnake().getDirection());
+        state.step();
+        assertEquals(Direction.UP, p.getSnake().getDirection());
+        assertEquals(1, p.getAppliedSeq());
+        assertEquals(3, p.getAppliedTick());
+    }
+
+    // A stamp from the previous round's tick count must not hold back the inputs behind it
+    @Test
+    void stampFromAnOldRoundIsPulledBackToTheLead() {
+        GameState state = arena();
+        RemotePlayer p = seat(state);
+        p.queue(1, 5_000, Direction.UP);
+        p.queue(2, 2, Direction.LEFT);
+        for (int i = 0; i < RemotePlayer.MAX_LEAD_TICKS; i++) state.step();
+        assertEquals(1, p.getAppliedSeq());
+        assertEquals(Direction.UP, p.getSnake().getDirection());
+        state.step();
+        assertEquals(2, p.getAppliedSeq());
+        assertEquals(Direction.LEFT, p.getSnake().getDirection());
+    }
+
+    @Test
+    void staleAndDuplicateSequenceNumbersAreIgnored() {
+        GameState state = arena();
+        RemotePlayer p = seat(state);
+        p.queue(2, 1, Direction.UP);
+        p.queue(2, 1, Direction.DOWN);
+        p.queue(1, 1, Direction.DOWN);
+        state.step();
+        assertEquals(Direction.UP, p.getSnake().getDirection());
+        assertEquals(2, p.getAppliedSeq());
+    }
+}
@@ -0,0 +1,130 @@
+package replay;
+
+import core.ArenaGameMode;
+import core.Board;
+import core.GameCheckpoint;
+import core.GameRandom;
+import core.GameState;
+import core.StandardGameMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import player.AIPlayer;
+import java.awt.Point;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records seeded games and checks that ReplaySeeker.seek lands on exactly the state a
+ * straight ReplayPlayer run reaches at the same tick, whether the seek goes forward,
+ * backward, between checkpoints, onto one, or past the end. States are compared through
+ * their GameCheckpoint bytes, which cover the generator, food, scores and every body.
+ */
+class ReplaySeekerTest {
+    private static final int CHECKPOINT_INTERVAL = 50;
+    private static final long MAX_TICKS = 3000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void seeksMatchStraightPlaybackInStandardGames() throws IOException {
+        for (long seed = 1; seed <= 3; seed++) {
+            checkSeeks(record(standardGame(seed), "standard-" + seed, CHECKPOINT_INTERVAL), true);
+        }
+    }
+
+    @Test
+    void seeksMatchStraightPlaybackInArenaGames() throws IOException {
+        for (long seed = 1; seed <= 3; seed++) {
+            checkSeeks(record(arenaGame(seed), "arena-" + seed, CHECKPOINT_INTERVAL), true);
+        }
+    }
+
+    // Without an index every seek re-simulates from the start, which must give the same states
+    @Test
+    void replaysWithoutAnIndexStillSeek() throws IOException {
+        checkSeeks(record(standardGame(7), "no-index", 0), false);
+    }
+
+    private void checkSeeks(Path file, boolean indexed) throws IOException {
+        long end;
+        try (InputStream in = Files.newInputStream(file)) {
+            end = new ReplayPlayer(in).playToEnd().getTick();
+        }
+        assertTrue(end > 3 * CHECKPOINT_INTERVAL, file.getFileName() + " ended too soon, at tick " + end);
+        long[] ticks = {
+            end / 2, end / 2 + 1, end - 1, 0, CHECKPOINT_INTERVAL, CHECKPOINT_INTERVAL - 1,
+            CHECKPOINT_INTERVAL + 1, 3 * CHECKPOINT_INTERVAL, end / 3, end / 3 + 30, end, end + 100
+        };
+        try (ReplaySeeker seeker = new ReplaySeeker(file)) {
+            assertEquals(indexed, seeker.getCheckpointCount() > 0, file.getFileName() + ": index");
+            for (long tick : ticks) {
+                GameState state = seeker.seek(tick);
+                assertEquals(Math.min(tick, end), state.getTick(), file.getFileName() + ": tick after seek to " + tick);
+                assertArrayEquals(playTo(file, tick), bytes(state),
+                                  file.getFileName() + ": state after seek to " + tick);
+            }
+        }
+    }
+
+    // The state a ReplayPlayer reaches by stepping from the start
+    private static byte[] playTo(Path file, long tick) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            ReplayPlayer player = new ReplayPlayer(in);
+            while (player.getState().getTick() < tick && player.step()) {
+                // step to the tick
+            }
+            return bytes(player.getState());
+        }
+    }
+
+    private static byte[] bytes(GameState state) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        GameCheckpoint.write(state, new DataOutputStream(buffer));
+        return buffer.toByteArray();
+    }
+
+    // Plays the game to its end, or MAX_TICKS, with a recorder attached
+    private Path record(GameState state, String name, int checkpointInterval) throws IOException {
+        Path file = dir.resolve(name + ".snkr");
+        ReplayRecorder recorder = ReplayRecorder.attach(state, Files.newOutputStream(file), true,
+                                                        checkpointInterval);
+        while (state.isRunning() && state.getTick() < MAX_TICKS) {
+            state.step();
+        }
+        recorder.finish(state.getTick());
+        return file;
+    }
+
+    // Built the way BatchSimulator builds its games
+    private static GameState standardGame(long seed) {
+        Board board = new Board(40, 30, 30);
+        StandardGameMode mode = new StandardGameMode();
+        GameState state = new GameState(board, mode, new GameRandom(seed));
+        state.addPlayer(new AIPlayer("CPU1", 20, 15, state.getFood()));
+        state.addPlayer(new AIPlayer("CPU2", 20, 7, state.getFood()));
+        mode.initialize(state);
+        return state;
+    }
+
+    // Seated the way SnakeGame seats its arena CPUs
+    private static GameState arenaGame(long seed) {
+        Board board = new Board(40, 30, 30);
+        ArenaGameMode mode = new ArenaGameMode(board);
+        GameState state = new GameState(board, mode, new GameRandom(seed));
+        for (int i = 0; i < 4; i++) {
+            Point at = ArenaGameMode.spawnPoint(board, state.getRandom());
+            state.addPlayer(new AIPlayer("CPU " + i, at.x, at.y, state.getFood()));
+        }
+        mode.initialize(state);
+        return state;
+    }
+}
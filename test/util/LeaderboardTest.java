@@ -0,0 +1,108 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LeaderboardTest {
+    @Test
+    void tiedPlayersShareARank() {
+        Leaderboard board = new Leaderboard();
+        board.put("ann", 30);
+        board.put("bob", 20);
+        board.put("cid", 20);
+        board.put("dee", 10);
+        assertEquals(1, board.rankOf("ann"));
+        assertEquals(2, board.rankOf("bob"));
+        assertEquals(2, board.rankOf("cid"));
+        assertEquals(4, board.rankOf("dee"));
+        assertEquals(-1, board.rankOf("eve"));
+        assertEquals(List.of(new Leaderboard.Entry("ann", 30), new Leaderboard.Entry("bob", 20)), board.top(2));
+        assertEquals(List.of(new Leaderboard.Entry("bob", 20), new Leaderboard.Entry("cid", 20)), board.range(15, 25));
+    }
+
+    @Test
+    void scoresNeverGoBelowZero() {
+        Leaderboard board = new Leaderboard();
+        assertEquals(0, board.add("ann", -5));
+        board.put("bob", -3);
+        assertEquals(0, board.getScore("bob"));
+        assertEquals(1, board.rankOf("bob"));
+    }
+
+    @Test
+    void removeForgetsThePlayer() {
+        Leaderboard board = new Leaderboard();
+        board.put("ann", 30);
+        board.put("bob", 20);
+        board.remove("ann");
+        assertNull(board.getScore("ann"));
+        assertEquals(1, board.rankOf("bob"));
+        assertEquals(1, board.size());
+    }
+
+    // Ranks against a brute-force count, with scores that grow the tree and pass its limit
+    @Test
+    void ranksMatchABruteForceCount() {
+        Leaderboard board = new Leaderboard();
+        Map<String, Integer> expected = new HashMap<>();
+        Random rnd = new Random(15);
+        int[] scales = {100, 5_000, 300_000, 3_000_000};
+        for (int op = 0; op < 20_000; op++) {
+            String name = "p" + rnd.nextInt(500);
+            int scale = scales[Math.min(scales.length - 1, op / 4_000)];
+            switch (rnd.nextInt(4)) {
+                case 0 -> {
+                    int score = rnd.nextInt(scale);
+                    board.put(name, score);
+                    expected.put(name, score);
+                }
+                case 1 -> {
+                    board.remove(name);
+                    expected.remove(name);
+                }
+                default -> {
+                    int delta = rnd.nextInt(scale) - scale / 4;
+                    int score = board.add(name, delta);
+                    expected.merge(name, Math.max(0, delta), (old, d) -> Math.max(0, old + delta));
+                    assertEquals(expected.get(name), score);
+                }
+            }
+            if (op % 97 == 0) assertRanks(expected, board);
+        }
+        assertRanks(expected, board);
+    }
+
+    private static void assertRanks(Map<String, Integer> expected, Leaderboard board) {
+        assertEquals(expected.size(), board.size());
+        List<Integer> scores = new ArrayList<>(expected.values());
+        for (Map.Entry<String, Integer> e : expected.entrySet()) {
+            int above = 0;
+            for (int s : scores) if (s > e.getValue()) above++;
+            assertEquals(above + 1, board.rankOf(e.getKey()), e.getKey() + " at " + e.getValue());
+        }
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        Leaderboard board = new Leaderboard();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) board.add("p" + (i % 10), 1);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2_000, board.getScore("p" + i));
+            assertEquals(1, board.rankOf("p" + i));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedScoreStoreTest {
+    // Mirrors the file layout: 64-byte header and records; capacity, size and pending capacity at 8, 12, 16
+    private static final int HEADER = 64, RECORD = 64;
+
+    @TempDir
+    Path dir;
+
+    private static Map<String, Integer> contents(MappedScoreStore store) {
+        Map<String, Integer> out = new HashMap<>();
+        store.forEach(out::put);
+        return out;
+    }
+
+    @Test
+    void scoresSurviveAReopen() throws IOException {
+        Path file = dir.resolve("scores.bin");
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            store.put("ann", 10);
+            assertEquals(15, store.add("ann", 5));
+            assertEquals(0, store.add("bob", -5));
+            assertEquals(7, store.add("cid", 7));
+            assertNull(store.getScore("dee"));
+        }
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            assertEquals(Map.of("ann", 15, "bob", 0, "cid", 7), contents(store));
+            assertEquals(3, store.size());
+        }
+    }
+
+    // Enough players to double the table three times
+    @Test
+    void growingKeepsEveryPlayer() throws IOException {
+        Path file = dir.resolve("scores.bin");
+        Map<String, Integer> expected = new HashMap<>();
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            for (int i = 0; i < 6_000; i++) {
+                store.put("player " + i, i);
+                expected.put("player " + i, i);
+            }
+            assertEquals(expected, contents(store));
+        }
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            assertEquals(expected, contents(store));
+            assertEquals(5_999, store.getScore("player 5999"));
+        }
+    }
+
+    @Test
+    void badNamesAreRejected() throws IOException {
+        try (MappedScoreStore store = MappedScoreStore.open(dir.resolve("scores.bin"))) {
+            assertThrows(IllegalArgumentException.class, () -> store.put(null, 1));
+            assertThrows(IllegalArgumentException.class, () -> store.add("x".repeat(MappedScoreStore.MAX_NAME_BYTES + 1), 1));
+            store.put("é".repeat(MappedScoreStore.MAX_NAME_BYTES / 2), 3);
+            assertEquals(3, store.getScore("é".repeat(MappedScoreStore.MAX_NAME_BYTES / 2)));
+        }
+    }
+
+    @Test
+    void otherFilesAreNotOpened() throws IOException {
+        Path file = dir.resolve("scores.txt");
+        Files.writeString(file, "ann: 10\n");
+        assertThrows(IOException.class, () -> MappedScoreStore.open(file));
+    }
+
+    // A grow stopped halfway through copying the bigger table down is redone on open
+    @Test
+    void anInterruptedGrowIsFinishedOnOpen() throws IOException {
+        Path file = dir.resolve("scores.bin");
+        Map<String, Integer> expected = new HashMap<>();
+        int capacity;
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            capacity = (int) ((Files.size(file) - HEADER) / RECORD);
+            // Insert until the table doubles
+            for (int i = 0; Files.size(file) == HEADER + (long) capacity * RECORD; i++) {
+                store.put("player " + i, i);
+                expected.put("player " + i, i);
+            }
+        }
+        int bigger = 2 * capacity;
+        // The file still holds the scratch copy past the bigger table. Rewind to mid-copy,
+        // which is before the insert that triggered the grow
+        expected.remove("player " + (expected.size() - 1));
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            assertEquals(HEADER + 2L * bigger * RECORD, ch.size());
+            ch.write(ByteBuffer.allocate(4).putInt(0, capacity), 8);
+            ch.write(ByteBuffer.allocate(4).putInt(0, expected.size()), 12);
+            ch.write(ByteBuffer.allocate(4).putInt(0, bigger), 16);
+            ch.write(ByteBuffer.allocate(capacity * RECORD), HEADER + (long) capacity * RECORD);
+        }
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            assertEquals(expected, contents(store));
+            assertEquals(expected.size(), store.size());
+        }
+        try (MappedScoreStore store = MappedScoreStore.open(file)) {
+            assertEquals(expected, contents(store));
+        }
+        assertEquals(HEADER + (long) bigger * RECORD, Files.size(file), "scratch space is dropped once the copy is done");
+    }
+
+    // The journal holds totals newer than the snapshot
+    @Test
+    void importTakesTheLastTotalOfEachPlayer() throws IOException {
+        Path snapshot = dir.resolve("scores.txt");
+        Path journal = dir.resolve("scores.journal");
+        Files.writeString(snapshot, "ann: 10\nbob: 20\nnot a score\ncid: x\n");
+        Files.writeString(journal, "bob: 25\ndee: 5\nbob: 35\n");
+        try (MappedScoreStore store = MappedScoreStore.importText(
+                List.of(snapshot, journal, dir.resolve("missing.txt")), dir.resolve("scores.bin"))) {
+            assertEquals(Map.of("ann", 10, "bob", 35, "dee", 5), contents(store));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks the text backend's journal: at startup the journal is replayed over the snapshot,
+ * a later record for a player winning over an earlier one; updates are appended to the
+ * journal in the background; and shutdown compacts everything into the snapshot and empties
+ * the journal. ScoreManager reads its files once per JVM, relative to the working
+ * directory, which the build points at target/test-work, so this is one test.
+ */
+class ScoreManagerTest {
+    private static final Path DIR = Paths.get("resources");
+    private static final Path SCORE_FILE = DIR.resolve("player_scores.txt");
+    private static final Path JOURNAL_FILE = DIR.resolve("player_scores.journal");
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Test
+    void journalIsReplayedAppendedAndCompacted() throws Exception {
+        Files.createDirectories(DIR);
+        Files.deleteIfExists(DIR.resolve("player_scores.bin"));
+        Files.writeString(SCORE_FILE, "ann: 10\nbob: 20\nnot a score\n", StandardCharsets.UTF_8);
+        // Records newer than the snapshot, as left by a crash before compaction
+        Files.writeString(JOURNAL_FILE, "bob: 25\ndee: 5\nbob: 35\n", StandardCharsets.UTF_8);
+
+        Map<String, Integer> loaded = ScoreManager.load();
+        assertEquals(Map.of("ann", 10, "bob", 35, "dee", 5), loaded);
+        assertEquals(List.of("bob", "ann", "dee"), List.copyOf(loaded.keySet()), "best first");
+
+        ScoreManager.updateScore("ann", 30);
+        ScoreManager.updateScore("eve", 1);
+        await(() -> lines(JOURNAL_FILE).containsAll(List.of("ann: 40", "eve: 1")), "updates to be journaled");
+        assertEquals("ann: 10", lines(SCORE_FILE).get(0), "snapshot changed before compaction");
+
+        ScoreManager.shutdown();
+        assertEquals(List.of("ann: 40", "bob: 35", "dee: 5", "eve: 1"), lines(SCORE_FILE));
+        assertEquals(0, Files.size(JOURNAL_FILE), "journal left after compaction");
+    }
+
+    private static List<String> lines(Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) fail("Timed out waiting for " + what);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpscRingTest {
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(2, new SpscRing<>(1).capacity());
+        assertEquals(64, new SpscRing<>(64).capacity());
+        assertEquals(128, new SpscRing<>(65).capacity());
+    }
+
+    @Test
+    void firstInFirstOutUntilFull() {
+        SpscRing<Integer> ring = new SpscRing<>(4);
+        assertNull(ring.poll());
+        for (int i = 0; i < 4; i++) assertTrue(ring.offer(i));
+        assertFalse(ring.offer(4), "a full ring drops the element");
+        assertEquals(4, ring.size());
+        assertEquals(0, ring.peek());
+        for (int i = 0; i < 4; i++) assertEquals(i, ring.poll());
+        assertNull(ring.peek());
+        // Indices keep counting past the capacity
+        for (int i = 0; i < 10; i++) {
+            assertTrue(ring.offer(i));
+            assertEquals(i, ring.poll());
+        }
+        assertEquals(0, ring.size());
+    }
+
+    // One producer, one consumer: nothing lost, duplicated or reordered
+    @Test
+    void handsOverEveryElementInOrderBetweenTwoThreads() throws InterruptedException {
+        SpscRing<Integer> ring = new SpscRing<>(16);
+        int count = 50_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!ring.offer(i)) Thread.yield();
+            }
+        });
+        producer.start();
+        for (int expected = 0; expected < count; expected++) {
+            Integer e;
+            while ((e = ring.poll()) == null) Thread.yield();
+            assertEquals(expected, e);
+        }
+        producer.join();
+        assertNull(ring.poll());
+    }
+}